@@ -9,6 +9,7 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.ResponseEntity;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -35,6 +36,16 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getRequesterBookingsAfter(Long userId, String state,
+                                                            String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "after", after,
+                "size", size
+        );
+        return get("?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
     public ResponseEntity<Object> getOwnerBookings(Long userId, String state,
                                                    Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
@@ -45,6 +56,24 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getOwnerBookingsAfter(Long userId, String state,
+                                                        String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "after", after,
+                "size", size
+        );
+        return get("/owner?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getRequesterBookingSummary(Long userId) {
+        return get("/summary", userId);
+    }
+
+    public ResponseEntity<Object> getOwnerBookingSummary(Long userId) {
+        return get("/owner/summary", userId);
+    }
+
     public ResponseEntity<Object> getBookingById(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
@@ -53,9 +82,30 @@ public class BookingClient extends BaseClient {
         return post("", userId, bookingDtoAdd);
     }
 
+    public ResponseEntity<Object> addBookings(Long userId, List<BookingDtoAdd> bookingDtoAdds) {
+        return post("/batch", userId, bookingDtoAdds);
+    }
+
+    public ResponseEntity<Object> placeHold(Long userId, BookingDtoAdd bookingDtoAdd) {
+        return post("/holds", userId, bookingDtoAdd);
+    }
+
+    public ResponseEntity<Object> confirmHold(Long userId, String holdId) {
+        return post("/holds/" + holdId + "/confirm", userId, null);
+    }
+
+    public ResponseEntity<Object> releaseHold(Long userId, String holdId) {
+        return delete("/holds/" + holdId, userId);
+    }
+
     public ResponseEntity<Object> updateBookingStatus(Long userId, Long bookingId,
                                                       Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> updateBookingStatuses(Long userId,
+                                                        List<BookingDecisionDto> decisions) {
+        return patch("/owner/bulk", userId, decisions);
+    }
+}
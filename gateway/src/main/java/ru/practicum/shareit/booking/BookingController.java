@@ -9,6 +9,9 @@ import org.springframework.http.ResponseEntity;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Slf4j
 @Controller
@@ -27,7 +30,11 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @Min(0) @RequestParam(defaultValue = "0") int from,
-            @Min(1) @RequestParam(defaultValue = "10") int size) {
+            @Min(1) @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
+        if (after != null) {
+            return bookingClient.getRequesterBookingsAfter(userId, state, after, size);
+        }
         return bookingClient.getRequesterBookings(userId, state, from, size);
     }
 
@@ -36,10 +43,26 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @Min(0) @RequestParam(defaultValue = "0") int from,
-            @Min(1) @RequestParam(defaultValue = "10") int size) {
+            @Min(1) @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after) {
+        if (after != null) {
+            return bookingClient.getOwnerBookingsAfter(userId, state, after, size);
+        }
         return bookingClient.getOwnerBookings(userId, state, from, size);
     }
 
+    @GetMapping("/summary")
+    public ResponseEntity<Object> getRequesterBookingSummary(
+            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingClient.getRequesterBookingSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public ResponseEntity<Object> getOwnerBookingSummary(
+            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingClient.getOwnerBookingSummary(userId);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                  @PathVariable Long bookingId) {
@@ -52,6 +75,31 @@ public class BookingController {
         return bookingClient.addBooking(userId, bookingDtoAdd);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> addBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @NotEmpty @Size(max = 100) @RequestBody List<@Valid BookingDtoAdd> bookingDtoAdds) {
+        return bookingClient.addBookings(userId, bookingDtoAdds);
+    }
+
+    @PostMapping("/holds")
+    public ResponseEntity<Object> placeHold(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @Valid @RequestBody BookingDtoAdd bookingDtoAdd) {
+        return bookingClient.placeHold(userId, bookingDtoAdd);
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    public ResponseEntity<Object> confirmHold(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @PathVariable String holdId) {
+        return bookingClient.confirmHold(userId, holdId);
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Object> releaseHold(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @PathVariable String holdId) {
+        return bookingClient.releaseHold(userId, holdId);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> updateBookingStatus(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -59,4 +107,11 @@ public class BookingController {
             @RequestParam Boolean approved) {
         return bookingClient.updateBookingStatus(userId, bookingId, approved);
     }
+
+    @PatchMapping("/owner/bulk")
+    public ResponseEntity<Object> updateBookingStatuses(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @NotEmpty @Size(max = 500) @RequestBody List<@Valid BookingDecisionDto> decisions) {
+        return bookingClient.updateBookingStatuses(userId, decisions);
+    }
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.EqualsAndHashCode;
+import lombok.AllArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class BookingDecisionDto {
+    @NotNull
+    private Long bookingId;
+    @NotNull
+    private Boolean approved;
+}
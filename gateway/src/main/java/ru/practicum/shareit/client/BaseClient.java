@@ -1,5 +1,10 @@
 package ru.practicum.shareit.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.List;
 
@@ -8,7 +13,10 @@ import org.springframework.lang.Nullable;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpStatusCodeException;
 
+import javax.servlet.http.HttpServletResponse;
+
 public class BaseClient {
+    private static final int STREAM_BUFFER_SIZE = 8192;
     protected final RestTemplate rest;
 
     public BaseClient(RestTemplate rest) {
@@ -80,6 +88,27 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected void stream(String path, Long userId, HttpServletResponse response) {
+        try {
+            rest.execute(path, HttpMethod.GET, request -> {
+                request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON,
+                                                       MediaType.APPLICATION_JSON));
+                if (userId != null) request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+            }, serverResponse -> {
+                copyResponse(serverResponse.getRawStatusCode(), serverResponse.getHeaders(),
+                             serverResponse.getBody(), response);
+                return null;
+            });
+        } catch (HttpStatusCodeException e) {
+            try {
+                copyResponse(e.getRawStatusCode(), e.getResponseHeaders(),
+                             new ByteArrayInputStream(e.getResponseBodyAsByteArray()), response);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           @Nullable Map<String, Object> parameters,
                                                           @Nullable T body) {
@@ -105,6 +134,21 @@ public class BaseClient {
         return headers;
     }
 
+    private static void copyResponse(int status, @Nullable HttpHeaders headers, InputStream body,
+                                     HttpServletResponse response) throws IOException {
+        response.setStatus(status);
+        if (headers != null && headers.getContentType() != null) {
+            response.setContentType(headers.getContentType().toString());
+        }
+        OutputStream out = response.getOutputStream();
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            out.flush();
+        }
+    }
+
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) return response;
         ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.getStatusCode());
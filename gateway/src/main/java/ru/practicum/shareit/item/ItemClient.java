@@ -9,6 +9,8 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.ResponseEntity;
 import ru.practicum.shareit.client.BaseClient;
 
+import javax.servlet.http.HttpServletResponse;
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -33,6 +35,18 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getOwnerItemsAfter(Long userId, Long after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+        return get("?after={after}&size={size}", userId, parameters);
+    }
+
+    public void exportOwnerItems(Long userId, HttpServletResponse response) {
+        stream("/export", userId, response);
+    }
+
     public ResponseEntity<Object> searchItems(String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
@@ -46,6 +60,15 @@ public class ItemClient extends BaseClient {
         return get("/" + itemId, userId);
     }
 
+    public ResponseEntity<Object> getItemAvailability(Long userId, Long itemId, LocalDateTime from,
+                                                      LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
     public ResponseEntity<Object> addItem(Long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
@@ -5,9 +5,13 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
+import ru.practicum.shareit.exception.ValidationException;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.time.LocalDateTime;
 
 @Controller
 @RequestMapping("/items")
@@ -23,10 +27,18 @@ public class ItemController {
     @GetMapping
     public ResponseEntity<Object> getOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                 @Min(0) @RequestParam(defaultValue = "0") int from,
-                                                @Min(1) @RequestParam(defaultValue = "10") int size) {
+                                                @Min(1) @RequestParam(defaultValue = "10") int size,
+                                                @Min(0) @RequestParam(required = false) Long after) {
+        if (after != null) return itemClient.getOwnerItemsAfter(userId, after, size);
         return itemClient.getOwnerItems(userId, from, size);
     }
 
+    @GetMapping("/export")
+    public void exportOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                 HttpServletResponse response) {
+        itemClient.exportOwnerItems(userId, response);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Object> searchItems(@RequestParam String text,
                                               @Min(0) @RequestParam(defaultValue = "0") int from,
@@ -40,6 +52,19 @@ public class ItemController {
         return itemClient.getItemById(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getItemAvailability(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException(String.format(
+                    "Availability window end (%s) is not after start (%s)", to, from));
+        }
+        return itemClient.getItemAvailability(userId, itemId, from, to);
+    }
+
     @PostMapping
     public ResponseEntity<Object> addItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                                           @Valid @RequestBody ItemDto itemDto) {
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(name = "shareit.booking.locks.mode", havingValue = "advisory")
+public class AdvisoryBookingLocks implements BookingLocks {
+    private static final String TRY_LOCK =
+            "SELECT pg_try_advisory_xact_lock(hashtext('bookings_items'), ?)";
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(hashtext('bookings_items'), ?)";
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final Timer waitTimer;
+    private final Counter contended;
+
+    @Autowired
+    public AdvisoryBookingLocks(JdbcTemplate jdbcTemplate, TransactionOperations transactionOperations,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.waitTimer = Timer.builder("shareit.booking.lock.wait")
+                .tag("mode", "advisory")
+                .register(meterRegistry);
+        this.contended = Counter.builder("shareit.booking.lock.contended")
+                .tag("mode", "advisory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <T> T withItemLocks(Collection<Long> itemIds, Supplier<T> action) {
+        int[] keys = itemIds.stream()
+                .mapToInt(itemId -> Long.hashCode(itemId))
+                .distinct()
+                .sorted()
+                .toArray();
+        return transactionOperations.execute(status -> {
+            for (int key : keys) {
+                lock(key);
+            }
+            return action.get();
+        });
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return true;
+    }
+
+    private void lock(int key) {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK, Boolean.class, key))) {
+            waitTimer.record(0L, TimeUnit.NANOSECONDS);
+            return;
+        }
+        contended.increment();
+        long started = System.nanoTime();
+        jdbcTemplate.queryForObject(LOCK, Object.class, key);
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+}
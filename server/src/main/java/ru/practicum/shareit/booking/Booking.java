@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
     @Column(name = "start_date")
     private LocalDateTime start;
@@ -25,9 +26,19 @@ public class Booking {
     @ManyToOne
     @JoinColumn(name = "item_id")
     private Item item;
+    @Column(name = "owner_id")
+    private Long ownerId;
     @ManyToOne
     @JoinColumn(name = "booker_id")
     private User booker;
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
+    @Column(insertable = false, updatable = false)
+    private Boolean archived;
+
+    public Booking(Long id, LocalDateTime start, LocalDateTime end, Item item, User booker,
+                   BookingStatus status) {
+        this(id, start, end, item, item == null || item.getOwner() == null ? null :
+                item.getOwner().getId(), booker, status, null);
+    }
 }
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking.partitions.enabled", havingValue = "true")
+public class BookingArchiver {
+    private final BookingRepository bookingRepository;
+    private final Duration horizon;
+    private final int chunkSize;
+
+    @Autowired
+    public BookingArchiver(BookingRepository bookingRepository,
+                           @Value("${shareit.booking.archive.horizon}") Duration horizon,
+                           @Value("${shareit.booking.archive.chunk-size}") int chunkSize) {
+        if (horizon.isNegative()) {
+            throw new IllegalArgumentException("Archive horizon must not be negative: " + horizon);
+        }
+        this.bookingRepository = bookingRepository;
+        this.horizon = horizon;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${shareit.booking.archive.cron}")
+    public void archive() {
+        LocalDateTime endedBefore = LocalDateTime.now().minus(horizon);
+        long total = 0;
+        int archived;
+        do {
+            archived = bookingRepository.archiveSettledEndedBefore(endedBefore, chunkSize);
+            total += archived;
+        } while (archived == chunkSize);
+        log.info("BookingArchiver.archive: {} bookings ended before {} archived", total,
+                 endedBefore);
+    }
+}
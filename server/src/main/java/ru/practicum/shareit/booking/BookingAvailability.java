@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.EqualsAndHashCode;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class BookingAvailability {
+    private final BookingRepository bookingRepository;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<Long, Long> generations;
+    private final Cache<Key, List<FreeSlotDto>> freeSlots;
+
+    @Autowired
+    public BookingAvailability(BookingRepository bookingRepository,
+                               @Value("${shareit.booking.availability.max-entries}") long maxEntries,
+                               @Value("${shareit.booking.availability.expire-after-write}")
+                               Duration expireAfterWrite) {
+        this.bookingRepository = bookingRepository;
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+        this.freeSlots = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public List<FreeSlotDto> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Long generation = generations.get(itemId, id -> sequence.incrementAndGet());
+        Key key = new Key(itemId, generation, from, to);
+        return freeSlots.get(key, k -> findFreeSlots(itemId, from, to));
+    }
+
+    public void evict(Long itemId) {
+        generations.invalidate(itemId);
+    }
+
+    private List<FreeSlotDto> findFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        List<BookingDtoShort> bookings = bookingRepository.findBlockingIntervalsBetween(itemId,
+                BookingIntervalIndex.BLOCKING_STATUSES, from, to);
+        List<FreeSlotDto> slots = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (BookingDtoShort booking : bookings) {
+            if (booking.getStart().isAfter(cursor)) {
+                slots.add(new FreeSlotDto(cursor, booking.getStart()));
+            }
+            if (booking.getEnd().isAfter(cursor)) cursor = booking.getEnd();
+        }
+        if (cursor.isBefore(to)) slots.add(new FreeSlotDto(cursor, to));
+        return List.copyOf(slots);
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final Long itemId;
+        private final Long generation;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+    }
+}
@@ -2,12 +2,14 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 
 import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final BookingService bookingService;
 
     @Autowired
@@ -23,6 +25,16 @@ public class BookingController {
         return bookingService.getRequesterBookings(userId, state, from, size);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<List<BookingDto>> getRequesterBookingsAfter(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        return withNextCursor(bookingService.getRequesterBookingsAfter(userId, state, after, size),
+                size);
+    }
+
     @GetMapping("/owner")
     public List<BookingDto> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
                                              @RequestParam(defaultValue = "ALL") String state,
@@ -31,6 +43,27 @@ public class BookingController {
         return bookingService.getOwnerBookings(userId, state, from, size);
     }
 
+    @GetMapping(path = "/owner", params = "after")
+    public ResponseEntity<List<BookingDto>> getOwnerBookingsAfter(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        return withNextCursor(bookingService.getOwnerBookingsAfter(userId, state, after, size),
+                size);
+    }
+
+    @GetMapping("/summary")
+    public BookingSummaryDto getRequesterBookingSummary(
+            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getRequesterBookingSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getOwnerBookingSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getOwnerBookingSummary(userId);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
                                      @PathVariable Long bookingId) {
@@ -43,10 +76,50 @@ public class BookingController {
         return bookingService.addBooking(userId, bookingDtoAdd);
     }
 
+    @PostMapping("/batch")
+    public List<BookingDto> addBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                        @RequestBody List<BookingDtoAdd> bookingDtoAdds) {
+        return bookingService.addBookings(userId, bookingDtoAdds);
+    }
+
+    @PostMapping("/holds")
+    public BookingHoldDto placeHold(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                    @RequestBody BookingDtoAdd bookingDtoAdd) {
+        return bookingService.placeHold(userId, bookingDtoAdd);
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    public BookingDto confirmHold(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                  @PathVariable String holdId) {
+        return bookingService.confirmHold(userId, holdId);
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    public void releaseHold(@RequestHeader("X-Sharer-User-Id") Long userId,
+                            @PathVariable String holdId) {
+        bookingService.releaseHold(userId, holdId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto updateBookingStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
                                           @PathVariable Long bookingId,
                                           @RequestParam Boolean approved) {
         return bookingService.updateBookingStatus(userId, bookingId, approved);
     }
-}
\ No newline at end of file
+
+    @PatchMapping("/owner/bulk")
+    public List<BookingDecisionResultDto> updateBookingStatuses(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody List<BookingDecisionDto> decisions) {
+        return bookingService.updateBookingStatuses(userId, decisions);
+    }
+
+    private static ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings,
+                                                                   int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(size - 1)).encode());
+        }
+        return response.body(bookings);
+    }
+}
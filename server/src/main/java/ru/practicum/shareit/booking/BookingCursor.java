@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.EqualsAndHashCode;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Slf4j
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class BookingCursor {
+    private static final String SEPARATOR = ",";
+    private final LocalDateTime start;
+    private final Long id;
+
+    public static BookingCursor of(BookingDto booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split(SEPARATOR, 2);
+            return new BookingCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            String message = String.format("Invalid cursor: %s", cursor);
+            log.warn("ValidationException at BookingCursor.decode: {}", message);
+            throw new ValidationException(message);
+        }
+    }
+
+    public String encode() {
+        String value = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking;
+
+public enum BookingDecisionOutcome {
+    APPROVED,
+    REJECTED,
+    ALREADY_APPROVED,
+    ALREADY_REJECTED,
+    NOT_FOUND
+}
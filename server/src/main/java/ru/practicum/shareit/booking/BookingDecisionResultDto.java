@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.EqualsAndHashCode;
+import lombok.AllArgsConstructor;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class BookingDecisionResultDto {
+    private Long bookingId;
+    private BookingDecisionOutcome outcome;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.EqualsAndHashCode;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class BookingDtoShort {
+    private Long id;
+    private Long itemId;
+    private Long bookerId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.EqualsAndHashCode;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class BookingHoldDto {
+    private String id;
+    private Long itemId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private LocalDateTime expiresAt;
+}
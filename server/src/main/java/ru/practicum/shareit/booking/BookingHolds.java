@@ -0,0 +1,157 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Component
+public class BookingHolds {
+    private static final Hold[] EMPTY = new Hold[0];
+    private final Duration ttl;
+    private final AtomicReferenceArray<Hold[]> stripes;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    public BookingHolds(@Value("${shareit.booking.holds.ttl}") Duration ttl,
+                        @Value("${shareit.booking.holds.stripes}") int stripes) {
+        if (ttl.isNegative() || ttl.isZero() || stripes < 1) {
+            throw new IllegalArgumentException("Booking holds need a positive ttl and at least one stripe");
+        }
+        this.ttl = ttl;
+        this.stripes = new AtomicReferenceArray<>(stripes);
+        for (int i = 0; i < stripes; i++) {
+            this.stripes.set(i, EMPTY);
+        }
+    }
+
+    public boolean isHeld(Long itemId, LocalDateTime start, LocalDateTime end, Long exceptBookerId) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Hold hold : stripes.get(stripe(itemId))) {
+            if (hold.blocks(itemId, start, end, now) && !hold.getBookerId().equals(exceptBookerId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Hold place(Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime now = LocalDateTime.now();
+        Hold hold = new Hold(itemId + "-" + sequence.incrementAndGet(), itemId, bookerId, start, end,
+                now.plus(ttl));
+        int stripe = stripe(itemId);
+        while (true) {
+            Hold[] current = stripes.get(stripe);
+            List<Hold> next = new ArrayList<>(current.length + 1);
+            for (Hold held : current) {
+                if (held.getExpiresAt().isAfter(now)) {
+                    if (held.blocks(itemId, start, end, now)) return null;
+                    next.add(held);
+                }
+            }
+            next.add(hold);
+            if (stripes.compareAndSet(stripe, current, next.toArray(EMPTY))) return hold;
+        }
+    }
+
+    public Hold find(String holdId, Long bookerId) {
+        Long itemId = itemIdOf(holdId);
+        if (itemId == null) return null;
+        LocalDateTime now = LocalDateTime.now();
+        for (Hold held : stripes.get(stripe(itemId))) {
+            if (held.getId().equals(holdId)) {
+                boolean active = held.getBookerId().equals(bookerId) && held.getExpiresAt().isAfter(now);
+                return active ? held : null;
+            }
+        }
+        return null;
+    }
+
+    public Hold remove(String holdId, Long bookerId) {
+        Long itemId = itemIdOf(holdId);
+        if (itemId == null) return null;
+        LocalDateTime now = LocalDateTime.now();
+        int stripe = stripe(itemId);
+        while (true) {
+            Hold[] current = stripes.get(stripe);
+            Hold removed = null;
+            List<Hold> next = new ArrayList<>(current.length);
+            for (Hold held : current) {
+                if (held.getId().equals(holdId)) {
+                    if (held.getBookerId().equals(bookerId) && held.getExpiresAt().isAfter(now)) {
+                        removed = held;
+                        continue;
+                    }
+                    return null;
+                }
+                next.add(held);
+            }
+            if (removed == null) return null;
+            if (stripes.compareAndSet(stripe, current, next.toArray(EMPTY))) return removed;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.holds.purge-millis}")
+    public void purgeExpired() {
+        for (int stripe = 0; stripe < stripes.length(); stripe++) {
+            LocalDateTime now = LocalDateTime.now();
+            Hold[] current;
+            List<Hold> next;
+            do {
+                current = stripes.get(stripe);
+                next = new ArrayList<>(current.length);
+                for (Hold held : current) {
+                    if (held.getExpiresAt().isAfter(now)) next.add(held);
+                }
+            } while (next.size() < current.length
+                    && !stripes.compareAndSet(stripe, current, next.toArray(EMPTY)));
+        }
+    }
+
+    private int stripe(Long itemId) {
+        return Math.floorMod(Long.hashCode(itemId), stripes.length());
+    }
+
+    private static Long itemIdOf(String holdId) {
+        int separator = holdId.indexOf('-');
+        if (separator <= 0) return null;
+        try {
+            return Long.parseLong(holdId.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Getter
+    public static class Hold {
+        private final String id;
+        private final Long itemId;
+        private final Long bookerId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final LocalDateTime expiresAt;
+
+        Hold(String id, Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end,
+             LocalDateTime expiresAt) {
+            this.id = id;
+            this.itemId = itemId;
+            this.bookerId = bookerId;
+            this.start = start;
+            this.end = end;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean blocks(Long itemId, LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+            return this.itemId.equals(itemId) && expiresAt.isAfter(now)
+                    && this.start.isBefore(end) && start.isBefore(this.end);
+        }
+    }
+}
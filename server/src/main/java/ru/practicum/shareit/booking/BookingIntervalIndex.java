@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class BookingIntervalIndex {
+    static final Set<BookingStatus> BLOCKING_STATUSES = Set.of(BookingStatus.WAITING,
+                                                                BookingStatus.APPROVED);
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemIntervals> intervals;
+
+    @Autowired
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.intervals.max-items}") long maxItems,
+                                @Value("${shareit.booking.intervals.expire-after-access}")
+                                Duration expireAfterAccess) {
+        this.bookingRepository = bookingRepository;
+        this.intervals = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public boolean hasOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) return false;
+        ItemIntervals itemIntervals = intervals.get(itemId, this::load);
+        if (start.isBefore(itemIntervals.horizon)) {
+            return bookingRepository.existsOverlapping(itemId, BLOCKING_STATUSES, start, end);
+        }
+        return itemIntervals.hasOverlap(start, end);
+    }
+
+    public void add(Booking booking) {
+        if (!BLOCKING_STATUSES.contains(booking.getStatus())) return;
+        intervals.asMap().computeIfPresent(booking.getItem().getId(), (itemId, itemIntervals) -> {
+            itemIntervals.add(booking.getId(), booking.getStart(), booking.getEnd());
+            return itemIntervals;
+        });
+    }
+
+    public void remove(Booking booking) {
+        intervals.asMap().computeIfPresent(booking.getItem().getId(), (itemId, itemIntervals) -> {
+            itemIntervals.remove(booking.getId());
+            return itemIntervals;
+        });
+    }
+
+    private ItemIntervals load(Long itemId) {
+        LocalDateTime horizon = LocalDateTime.now();
+        ItemIntervals itemIntervals = new ItemIntervals(horizon);
+        for (BookingDtoShort booking : bookingRepository.findBlockingIntervals(itemId,
+                BLOCKING_STATUSES, horizon)) {
+            itemIntervals.add(booking.getId(), booking.getStart(), booking.getEnd());
+        }
+        return itemIntervals;
+    }
+
+    static class ItemIntervals {
+        private final LocalDateTime horizon;
+        private final Map<Long, LocalDateTime[]> bookings = new HashMap<>();
+        private final List<LocalDateTime> starts = new ArrayList<>();
+        private final List<LocalDateTime> ends = new ArrayList<>();
+
+        ItemIntervals(LocalDateTime horizon) {
+            this.horizon = horizon;
+        }
+
+        synchronized boolean hasOverlap(LocalDateTime start, LocalDateTime end) {
+            return lowerBound(starts, end) - upperBound(ends, start) > 0;
+        }
+
+        synchronized void add(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            if (!start.isBefore(end) || bookings.containsKey(bookingId)) return;
+            bookings.put(bookingId, new LocalDateTime[]{start, end});
+            starts.add(upperBound(starts, start), start);
+            ends.add(upperBound(ends, end), end);
+        }
+
+        synchronized void remove(Long bookingId) {
+            LocalDateTime[] interval = bookings.remove(bookingId);
+            if (interval == null) return;
+            starts.remove(Collections.binarySearch(starts, interval[0]));
+            ends.remove(Collections.binarySearch(ends, interval[1]));
+        }
+
+        private static int lowerBound(List<LocalDateTime> values, LocalDateTime value) {
+            int low = 0;
+            int high = values.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values.get(middle).isBefore(value)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private static int upperBound(List<LocalDateTime> values, LocalDateTime value) {
+            int low = 0;
+            int high = values.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values.get(middle).isAfter(value)) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
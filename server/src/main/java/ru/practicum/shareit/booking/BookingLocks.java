@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+public interface BookingLocks {
+    <T> T withItemLocks(Collection<Long> itemIds, Supplier<T> action);
+
+    default <T> T withItemLock(Long itemId, Supplier<T> action) {
+        return withItemLocks(List.of(itemId), action);
+    }
+
+    boolean isDistributed();
+}
@@ -12,6 +12,16 @@ public class BookingMapper {
         );
     }
 
+    public static BookingHoldDto toBookingHoldDto(BookingHolds.Hold hold) {
+        return new BookingHoldDto(
+                hold.getId(),
+                hold.getItemId(),
+                hold.getStart(),
+                hold.getEnd(),
+                hold.getExpiresAt()
+        );
+    }
+
     public static Booking toBooking(BookingDto bookingDto) {
         return new Booking(
                 bookingDto.getId(),
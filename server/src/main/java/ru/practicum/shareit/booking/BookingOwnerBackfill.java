@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+@Slf4j
+@Component
+@DependsOnDatabaseInitialization
+public class BookingOwnerBackfill {
+    private final BookingRepository bookingRepository;
+    private final int chunkSize;
+
+    @Autowired
+    public BookingOwnerBackfill(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.owner-backfill.chunk-size}") int chunkSize) {
+        this.bookingRepository = bookingRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        long total = 0;
+        int updated;
+        do {
+            updated = bookingRepository.backfillOwnerIds(chunkSize);
+            total += updated;
+        } while (updated == chunkSize);
+        if (total > 0) {
+            log.info("BookingOwnerBackfill.backfill: owner id set on {} bookings", total);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Slf4j
+@Component
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(name = "shareit.booking.partitions.enabled", havingValue = "true")
+public class BookingPartitions {
+    private static final String LOCK = "SELECT pg_advisory_xact_lock(hashtext('bookings_partitions'))";
+    private static final String COLUMNS =
+            "id, start_date, end_date, item_id, booker_id, status, owner_id, archived";
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+
+    @Autowired
+    public BookingPartitions(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${shareit.booking.partitions.months-ahead}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (!isPartitioned()) {
+            throw new IllegalStateException("Table bookings is not partitioned: run " +
+                    "db/partition-bookings.sql before enabling shareit.booking.partitions");
+        }
+        createHotPartitions();
+    }
+
+    @Scheduled(cron = "${shareit.booking.partitions.cron}")
+    public void createHotPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = -1; i <= monthsAhead; i++) {
+            createHotPartition(current.plusMonths(i));
+        }
+    }
+
+    private void createHotPartition(YearMonth month) {
+        String name = String.format("bookings_hot_y%dm%02d", month.getYear(), month.getMonthValue());
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject(LOCK, Object.class);
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name)) {
+                return;
+            }
+            jdbcTemplate.execute("LOCK TABLE bookings_hot_default IN SHARE ROW EXCLUSIVE MODE");
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE bookings_hot INCLUDING DEFAULTS, " +
+                    "CONSTRAINT " + name + "_id_key UNIQUE (id))");
+            int moved = jdbcTemplate.update("WITH moved AS (" +
+                    "  DELETE FROM bookings_hot_default " +
+                    "  WHERE end_date >= ? AND end_date < ? " +
+                    "  RETURNING " + COLUMNS + ") " +
+                    "INSERT INTO " + name + " (" + COLUMNS + ") " +
+                    "SELECT " + COLUMNS + " FROM moved", from, to);
+            jdbcTemplate.execute("ALTER TABLE bookings_hot ATTACH PARTITION " + name + " " +
+                    "FOR VALUES FROM ('" + from.toLocalDate() + "') TO ('" + to.toLocalDate() + "')");
+            log.info("BookingPartitions.createHotPartition: {} created, {} rows moved from default",
+                     name, moved);
+        });
+    }
+
+    private boolean isPartitioned() {
+        return jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_partitioned_table " +
+                "WHERE partrelid = to_regclass('bookings'))", Boolean.class);
+    }
+}
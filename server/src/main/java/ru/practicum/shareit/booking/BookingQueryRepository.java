@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface BookingQueryRepository {
+    List<Booking> findBookings(Specification<Booking> specification, Pageable pageable);
+}
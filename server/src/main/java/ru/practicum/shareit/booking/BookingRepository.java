@@ -2,89 +2,162 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    @Query("SELECT b FROM Booking AS b " +
-            "WHERE b.booker.id = ?1 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByBookerId(Long userId, Pageable pageable);
-
-    @Query("SELECT b FROM Booking AS b " +
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingQueryRepository {
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END " +
+            "FROM Booking AS b " +
             "WHERE b.booker.id = ?1 AND " +
-            "      b.status = ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findByBookerIdAndStatus(Long userId, BookingStatus status, Pageable pageable);
+            "      b.item.id = ?2 AND " +
+            "      b.status = ?3 AND " +
+            "      b.end < ?4")
+    boolean existsCompletedBooking(Long userId, Long itemId, BookingStatus status,
+                                   LocalDateTime now);
 
-    @Query("SELECT b FROM Booking AS b " +
-            "WHERE b.booker.id = ?1 AND " +
-            "      b.end < ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findPastByBookerId(Long userId, LocalDateTime now, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.BookingDtoShort(" +
+            "       b.id, b.item.id, b.booker.id, b.start, b.end) " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id IN ?1 AND " +
+            "      b.end = (SELECT MAX(l.end) FROM Booking AS l " +
+            "               WHERE l.item.id = b.item.id AND " +
+            "                     l.end < ?2) " +
+            "ORDER BY b.id ASC")
+    List<BookingDtoShort> findLastBookings(Collection<Long> itemIds, LocalDateTime now);
 
-    @Query("SELECT b FROM Booking AS b " +
-            "WHERE b.booker.id = ?1 AND " +
-            "      b.start > ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findFutureByBookerId(Long userId, LocalDateTime now, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.BookingDtoShort(" +
+            "       b.id, b.item.id, b.booker.id, b.start, b.end) " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id IN ?1 AND " +
+            "      b.start = (SELECT MIN(n.start) FROM Booking AS n " +
+            "                 WHERE n.item.id = b.item.id AND " +
+            "                       n.start > ?2) " +
+            "ORDER BY b.id ASC")
+    List<BookingDtoShort> findNextBookings(Collection<Long> itemIds, LocalDateTime now);
 
-    @Query("SELECT b FROM Booking AS b " +
-            "WHERE b.booker.id = ?1 AND " +
-            "      b.start < ?2 AND " +
-            "      b.end > ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findCurrentByBookerId(Long userId, LocalDateTime now, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.BookingDtoShort(" +
+            "       b.id, b.item.id, b.booker.id, b.start, b.end) " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id IN ?1 AND " +
+            "      b.start <= ?2 AND " +
+            "      b.end = (SELECT MIN(c.end) FROM Booking AS c " +
+            "               WHERE c.item.id = b.item.id AND " +
+            "                     c.start <= ?2 AND " +
+            "                     c.end > ?2) " +
+            "ORDER BY b.id ASC")
+    List<BookingDtoShort> findCurrentBookings(Collection<Long> itemIds, LocalDateTime now);
 
-    @Query("SELECT b FROM Booking AS b " +
-            "WHERE b.item.owner.id = ?1 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByOwnerId(Long userId, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.BookingDtoShort(" +
+            "       b.id, b.item.id, b.booker.id, b.start, b.end) " +
+            "FROM Booking AS b " +
+            "WHERE b.status = ?1 AND " +
+            "      b.end > ?2 AND " +
+            "      b.id > ?3 " +
+            "ORDER BY b.id ASC")
+    List<BookingDtoShort> findScheduledBookings(BookingStatus status, LocalDateTime now, Long afterId,
+                                                Pageable pageable);
 
-    @Query("SELECT b FROM Booking AS b " +
-            "WHERE b.item.owner.id = ?1 AND " +
-            "      b.status = ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findByOwnerIdAndStatus(Long userId, BookingStatus status, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.BookingDtoShort(" +
+            "       b.id, b.item.id, b.booker.id, b.start, b.end) " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id = ?1 AND " +
+            "      b.status IN ?2 AND " +
+            "      b.end > ?3")
+    List<BookingDtoShort> findBlockingIntervals(Long itemId, Collection<BookingStatus> statuses,
+                                                LocalDateTime after);
 
-    @Query("SELECT b FROM Booking AS b " +
-            "WHERE b.item.owner.id = ?1 AND " +
-            "      b.end < ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findPastByOwnerId(Long userId, LocalDateTime now, Pageable pageable);
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id = ?1 AND " +
+            "      b.status IN ?2 AND " +
+            "      b.start < ?4 AND " +
+            "      b.end > ?3")
+    boolean existsOverlapping(Long itemId, Collection<BookingStatus> statuses,
+                              LocalDateTime start, LocalDateTime end);
 
-    @Query("SELECT b FROM Booking AS b " +
-            "WHERE b.item.owner.id = ?1 AND " +
-            "      b.start > ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findFutureByOwnerId(Long userId, LocalDateTime now, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.BookingDtoShort(" +
+            "       b.id, b.item.id, b.booker.id, b.start, b.end) " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id = ?1 AND " +
+            "      b.status IN ?2 AND " +
+            "      b.start < ?4 AND " +
+            "      b.end > ?3 " +
+            "ORDER BY b.start ASC")
+    List<BookingDtoShort> findBlockingIntervalsBetween(Long itemId,
+                                                       Collection<BookingStatus> statuses,
+                                                       LocalDateTime from, LocalDateTime to);
 
-    @Query("SELECT b FROM Booking AS b " +
-            "WHERE b.item.owner.id = ?1 AND " +
-            "      b.start < ?2 AND " +
-            "      b.end > ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findCurrentByOwnerId(Long userId, LocalDateTime now, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.BookingSummaryDto(" +
+            "       COUNT(b), " +
+            "       COALESCE(SUM(CASE WHEN b.start < ?2 AND b.end > ?2 THEN 1 ELSE 0 END), 0), " +
+            "       COALESCE(SUM(CASE WHEN b.end < ?2 THEN 1 ELSE 0 END), 0), " +
+            "       COALESCE(SUM(CASE WHEN b.start > ?2 THEN 1 ELSE 0 END), 0), " +
+            "       COALESCE(SUM(CASE WHEN b.status = ?3 THEN 1 ELSE 0 END), 0), " +
+            "       COALESCE(SUM(CASE WHEN b.status = ?4 THEN 1 ELSE 0 END), 0)) " +
+            "FROM Booking AS b " +
+            "WHERE b.booker.id = ?1")
+    BookingSummaryDto summarizeByBookerId(Long userId, LocalDateTime now, BookingStatus waiting,
+                                          BookingStatus rejected);
 
-    @Query("SELECT b FROM Booking AS b " +
-            "WHERE b.booker.id = ?1 AND " +
-            "      b.item.id = ?2 AND " +
-            "      b.status = ?3 AND " +
-            "      b.end < ?4")
-    Booking findCompletedBooking(Long userId, Long itemId, BookingStatus status,
-                                 LocalDateTime now);
+    @Query("SELECT new ru.practicum.shareit.booking.BookingSummaryDto(" +
+            "       COUNT(b), " +
+            "       COALESCE(SUM(CASE WHEN b.start < ?2 AND b.end > ?2 THEN 1 ELSE 0 END), 0), " +
+            "       COALESCE(SUM(CASE WHEN b.end < ?2 THEN 1 ELSE 0 END), 0), " +
+            "       COALESCE(SUM(CASE WHEN b.start > ?2 THEN 1 ELSE 0 END), 0), " +
+            "       COALESCE(SUM(CASE WHEN b.status = ?3 THEN 1 ELSE 0 END), 0), " +
+            "       COALESCE(SUM(CASE WHEN b.status = ?4 THEN 1 ELSE 0 END), 0)) " +
+            "FROM Booking AS b " +
+            "WHERE b.ownerId = ?1")
+    BookingSummaryDto summarizeByOwnerId(Long userId, LocalDateTime now, BookingStatus waiting,
+                                         BookingStatus rejected);
 
-    @Query("SELECT b FROM Booking AS b " +
-            "WHERE b.item.id = ?1 AND " +
-            "      b.end < ?2 " +
-            "ORDER BY b.end DESC")
-    List<Booking> findLastBookings(Long itemId, LocalDateTime end);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Booking AS b " +
+            "SET b.status = ?3 " +
+            "WHERE b.id = ?1 AND " +
+            "      b.ownerId = ?2 AND " +
+            "      b.status = ru.practicum.shareit.booking.BookingStatus.WAITING")
+    int updateWaitingStatus(Long bookingId, Long ownerId, BookingStatus status);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT b FROM Booking AS b " +
-            "WHERE b.item.id = ?1 AND " +
-            "      b.start > ?2 " +
-            "ORDER BY b.start ASC")
-    List<Booking> findNextBookings(Long itemId, LocalDateTime start);
+            "WHERE b.id IN ?1 AND " +
+            "      b.ownerId = ?2")
+    List<Booking> findOwnedForUpdate(Collection<Long> bookingIds, Long ownerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking AS b " +
+            "SET b.status = ?3 " +
+            "WHERE b.id IN ?1 AND " +
+            "      b.ownerId = ?2 AND " +
+            "      b.status = ru.practicum.shareit.booking.BookingStatus.WAITING")
+    int updateWaitingStatuses(Collection<Long> bookingIds, Long ownerId, BookingStatus status);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE bookings SET owner_id = " +
+            "       (SELECT i.owner_id FROM items AS i WHERE i.id = bookings.item_id) " +
+            "WHERE id IN (SELECT b.id FROM bookings AS b " +
+            "             WHERE b.owner_id IS NULL " +
+            "             LIMIT ?1)", nativeQuery = true)
+    int backfillOwnerIds(int chunkSize);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE bookings SET archived = TRUE " +
+            "WHERE archived = FALSE AND " +
+            "      id IN (SELECT b.id FROM bookings AS b " +
+            "             WHERE b.archived = FALSE AND " +
+            "                   b.end_date < ?1 AND " +
+            "                   b.status <> 'WAITING' " +
+            "             LIMIT ?2)", nativeQuery = true)
+    int archiveSettledEndedBefore(LocalDateTime horizon, int chunkSize);
 }
@@ -5,11 +5,30 @@ import java.util.List;
 public interface BookingService {
     List<BookingDto> getRequesterBookings(Long userId, String state, int from, int size);
 
+    List<BookingDto> getRequesterBookingsAfter(Long userId, String state, String after, int size);
+
     List<BookingDto> getOwnerBookings(Long userId, String state, int from, int size);
 
+    List<BookingDto> getOwnerBookingsAfter(Long userId, String state, String after, int size);
+
+    BookingSummaryDto getRequesterBookingSummary(Long userId);
+
+    BookingSummaryDto getOwnerBookingSummary(Long userId);
+
     BookingDto getBookingById(Long userId, Long bookingId);
 
     BookingDto addBooking(Long userId, BookingDtoAdd bookingDtoAdd);
 
+    List<BookingDto> addBookings(Long userId, List<BookingDtoAdd> bookingDtoAdds);
+
+    BookingHoldDto placeHold(Long userId, BookingDtoAdd bookingDtoAdd);
+
+    BookingDto confirmHold(Long userId, String holdId);
+
+    void releaseHold(Long userId, String holdId);
+
     BookingDto updateBookingStatus(Long userId, Long bookingId, Boolean approved);
+
+    List<BookingDecisionResultDto> updateBookingStatuses(Long userId,
+                                                         List<BookingDecisionDto> decisions);
 }
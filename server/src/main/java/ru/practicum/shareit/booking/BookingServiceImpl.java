@@ -6,9 +6,14 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.exception.ValidationException;
@@ -16,8 +21,13 @@ import ru.practicum.shareit.exception.ValidationException;
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,85 +37,71 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemService itemService;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingAvailability bookingAvailability;
+    private final ItemBookingPointers itemBookingPointers;
+    private final BookingTransitions bookingTransitions;
+    private final BookingHolds bookingHolds;
+    private final BookingLocks bookingLocks;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository,
-                              UserService userService, ItemService itemService) {
+                              UserService userService, ItemService itemService,
+                              BookingIntervalIndex bookingIntervalIndex,
+                              BookingAvailability bookingAvailability,
+                              ItemBookingPointers itemBookingPointers,
+                              BookingTransitions bookingTransitions,
+                              BookingHolds bookingHolds,
+                              BookingLocks bookingLocks) {
         this.bookingRepository = bookingRepository;
         this.userService = userService;
         this.itemService = itemService;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.bookingAvailability = bookingAvailability;
+        this.itemBookingPointers = itemBookingPointers;
+        this.bookingTransitions = bookingTransitions;
+        this.bookingHolds = bookingHolds;
+        this.bookingLocks = bookingLocks;
     }
 
     @Override
     public List<BookingDto> getRequesterBookings(Long userId, String state, int from, int size) {
-        BookingState bookingState = convertStringToBookingState(state);
-        userService.getUserById(userId);
-        List<Booking> bookings = new ArrayList<>();
-        Pageable pageable = PageRequest.of(from / size, size);
-        switch (bookingState) {
-            case ALL:
-                bookings = bookingRepository.findAllByBookerId(userId, pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findPastByBookerId(userId, LocalDateTime.now(),
-                        pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findFutureByBookerId(userId, LocalDateTime.now(),
-                        pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findCurrentByBookerId(userId, LocalDateTime.now(),
-                        pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByBookerIdAndStatus(userId,
-                        BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByBookerIdAndStatus(userId,
-                        BookingStatus.REJECTED, pageable);
-                break;
-        }
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        return findBookings(BookingSpecifications.bookedBy(userId), userId, state, null,
+                PageRequest.of(from / size, size));
+    }
+
+    @Override
+    public List<BookingDto> getRequesterBookingsAfter(Long userId, String state, String after,
+                                                      int size) {
+        return findBookings(BookingSpecifications.bookedBy(userId), userId, state, after,
+                PageRequest.of(0, size));
     }
 
     @Override
     public List<BookingDto> getOwnerBookings(Long userId, String state, int from, int size) {
-        BookingState bookingState = convertStringToBookingState(state);
+        return findBookings(BookingSpecifications.ownedBy(userId), userId, state, null,
+                PageRequest.of(from / size, size));
+    }
+
+    @Override
+    public List<BookingDto> getOwnerBookingsAfter(Long userId, String state, String after,
+                                                  int size) {
+        return findBookings(BookingSpecifications.ownedBy(userId), userId, state, after,
+                PageRequest.of(0, size));
+    }
+
+    @Override
+    public BookingSummaryDto getRequesterBookingSummary(Long userId) {
         userService.getUserById(userId);
-        List<Booking> bookings = new ArrayList<>();
-        Pageable pageable = PageRequest.of(from / size, size);
-        switch (bookingState) {
-            case ALL:
-                bookings = bookingRepository.findAllByOwnerId(userId, pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findPastByOwnerId(userId, LocalDateTime.now(),
-                        pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findFutureByOwnerId(userId, LocalDateTime.now(),
-                        pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findCurrentByOwnerId(userId, LocalDateTime.now(),
-                        pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findByOwnerIdAndStatus(userId,
-                        BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findByOwnerIdAndStatus(userId,
-                        BookingStatus.REJECTED, pageable);
-                break;
-        }
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        return bookingRepository.summarizeByBookerId(userId, LocalDateTime.now(),
+                BookingStatus.WAITING, BookingStatus.REJECTED);
+    }
+
+    @Override
+    public BookingSummaryDto getOwnerBookingSummary(Long userId) {
+        userService.getUserById(userId);
+        return bookingRepository.summarizeByOwnerId(userId, LocalDateTime.now(),
+                BookingStatus.WAITING, BookingStatus.REJECTED);
     }
 
     @Override
@@ -131,19 +127,120 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public BookingDto addBooking(Long userId, BookingDtoAdd bookingDtoAdd) {
         Booking booking = BookingMapper.toBookingAdd(bookingDtoAdd);
-        ItemDto itemDto = itemService.getItemById(userId, bookingDtoAdd.getItemId());
-        validateDataForAddBooking(userId, itemDto, booking);
+        User booker = UserMapper.toUser(userService.getUserById(userId));
+        ItemDto itemDto = itemService.getItemSnapshot(bookingDtoAdd.getItemId());
         booking.setItem(ItemMapper.toItem(itemDto));
-        booking.setBooker(UserMapper.toUser(userService.getUserById(userId)));
+        booking.setOwnerId(itemDto.getOwner().getId());
+        booking.setBooker(booker);
         booking.setStatus(BookingStatus.WAITING);
-        Booking addedBooking = bookingRepository.save(booking);
+        Booking addedBooking = bookingLocks.withItemLock(itemDto.getId(), () -> {
+            validateDataForAddBooking(userId, itemDto, booking);
+            Booking saved = bookingRepository.save(booking);
+            afterCommit(() -> {
+                bookingIntervalIndex.add(saved);
+                bookingAvailability.evict(itemDto.getId());
+                itemBookingPointers.add(saved);
+            });
+            return saved;
+        });
         log.info("BookingServiceImpl.addBooking: booking {} successfully added",
                  addedBooking.getId());
         return BookingMapper.toBookingDto(addedBooking);
     }
 
+    @Override
+    public List<BookingDto> addBookings(Long userId, List<BookingDtoAdd> bookingDtoAdds) {
+        if (bookingDtoAdds.isEmpty()) {
+            String message = "Booking list is empty";
+            log.warn("ValidationException at BookingServiceImpl.addBookings: {}", message);
+            throw new ValidationException(message);
+        }
+        User booker = UserMapper.toUser(userService.getUserById(userId));
+        Map<Long, ItemDto> items = itemService.getItemsByIds(bookingDtoAdds.stream()
+                        .map(BookingDtoAdd::getItemId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+        List<Booking> bookings = new ArrayList<>();
+        for (BookingDtoAdd bookingDtoAdd : bookingDtoAdds) {
+            ItemDto itemDto = items.get(bookingDtoAdd.getItemId());
+            if (itemDto == null) {
+                String message = String.format("There is no item with id %d",
+                        bookingDtoAdd.getItemId());
+                log.warn("EntityNotFoundException at BookingServiceImpl.addBookings: {}", message);
+                throw new EntityNotFoundException(message);
+            }
+            Booking booking = BookingMapper.toBookingAdd(bookingDtoAdd);
+            booking.setItem(ItemMapper.toItem(itemDto));
+            booking.setOwnerId(itemDto.getOwner().getId());
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.WAITING);
+            bookings.add(booking);
+        }
+        validateNoOverlapWithinBatch(bookings);
+        List<Booking> addedBookings = bookingLocks.withItemLocks(items.keySet(), () -> {
+            for (Booking booking : bookings) {
+                validateDataForAddBooking(userId, items.get(booking.getItem().getId()), booking);
+            }
+            List<Booking> saved = bookingRepository.saveAll(bookings);
+            afterCommit(() -> {
+                for (Booking addedBooking : saved) {
+                    bookingIntervalIndex.add(addedBooking);
+                    bookingAvailability.evict(addedBooking.getItem().getId());
+                    itemBookingPointers.add(addedBooking);
+                }
+            });
+            return saved;
+        });
+        log.info("BookingServiceImpl.addBookings: {} bookings successfully added",
+                 addedBookings.size());
+        return toBookingDtos(addedBookings);
+    }
+
+    @Override
+    public BookingHoldDto placeHold(Long userId, BookingDtoAdd bookingDtoAdd) {
+        Booking booking = BookingMapper.toBookingAdd(bookingDtoAdd);
+        Long itemId = bookingDtoAdd.getItemId();
+        if (!booking.getStart().isBefore(booking.getEnd())) {
+            String message = String.format("Hold end (%s) is not after start (%s)",
+                    booking.getEnd(), booking.getStart());
+            log.warn("ValidationException at BookingServiceImpl.placeHold: {}", message);
+            throw new ValidationException(message);
+        }
+        if (bookingHolds.isHeld(itemId, booking.getStart(), booking.getEnd(), null)) {
+            throw heldException("placeHold", itemId, booking);
+        }
+        userService.getUserById(userId);
+        validateDataForAddBooking(userId, itemService.getItemSnapshot(itemId), booking);
+        BookingHolds.Hold hold = bookingHolds.place(itemId, userId, booking.getStart(),
+                booking.getEnd());
+        if (hold == null) throw heldException("placeHold", itemId, booking);
+        log.info("BookingServiceImpl.placeHold: hold {} placed until {}", hold.getId(),
+                 hold.getExpiresAt());
+        return BookingMapper.toBookingHoldDto(hold);
+    }
+
+    @Override
+    public BookingDto confirmHold(Long userId, String holdId) {
+        BookingHolds.Hold hold = requireHold("confirmHold", userId, holdId,
+                bookingHolds.find(holdId, userId));
+        BookingDto booking = addBooking(userId, new BookingDtoAdd(hold.getItemId(), hold.getStart(),
+                hold.getEnd()));
+        afterCommit(() -> bookingHolds.remove(holdId, userId));
+        log.info("BookingServiceImpl.confirmHold: hold {} converted into booking {}", holdId,
+                 booking.getId());
+        return booking;
+    }
+
+    @Override
+    public void releaseHold(Long userId, String holdId) {
+        requireHold("releaseHold", userId, holdId, bookingHolds.remove(holdId, userId));
+        log.info("BookingServiceImpl.releaseHold: hold {} released", holdId);
+    }
+
     @Override
     public BookingDto updateBookingStatus(Long userId, Long bookingId, Boolean approved) {
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
         Optional<Booking> bookingOptional = bookingRepository.findById(bookingId);
         if (bookingOptional.isEmpty()) {
             String message = String.format("There is no booking with id %d", bookingId);
@@ -151,17 +248,125 @@ public class BookingServiceImpl implements BookingService {
                      message);
             throw new EntityNotFoundException(message);
         }
-        Booking booking = bookingOptional.get();
-        ItemDto itemDto = itemService.getItemById(userId, booking.getItem().getId());
-        validateDataForStatusUpdate(userId, itemDto, booking);
-        if (approved) booking.setStatus(BookingStatus.APPROVED);
-        if (!approved) booking.setStatus(BookingStatus.REJECTED);
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking = bookingOptional.get();
+        bookingLocks.withItemLock(updatedBooking.getItem().getId(), () -> {
+            if (bookingRepository.updateWaitingStatus(bookingId, userId, status) == 0) {
+                Optional<Booking> currentOptional = bookingRepository.findById(bookingId);
+                if (currentOptional.isEmpty()) {
+                    String message = String.format("There is no booking with id %d", bookingId);
+                    log.warn("EntityNotFoundException at BookingServiceImpl.updateBookingStatus: {}",
+                             message);
+                    throw new EntityNotFoundException(message);
+                }
+                validateDataForStatusUpdate(userId, currentOptional.get());
+                String message = String.format("Booking %d is no longer waiting for a decision",
+                        bookingId);
+                log.warn("ValidationException at BookingServiceImpl.updateBookingStatus: {}", message);
+                throw new ValidationException(message);
+            }
+            updatedBooking.setStatus(status);
+            afterCommit(() -> {
+                if (approved) {
+                    bookingTransitions.schedule(updatedBooking);
+                } else {
+                    bookingIntervalIndex.remove(updatedBooking);
+                    bookingAvailability.evict(updatedBooking.getItem().getId());
+                }
+            });
+            return updatedBooking;
+        });
         log.info("BookingServiceImpl.updateBookingStatus: booking {} " +
-                 "status successfully updated", booking.getId());
+                 "status successfully updated", bookingId);
         return BookingMapper.toBookingDto(updatedBooking);
     }
 
+    @Override
+    @Transactional
+    public List<BookingDecisionResultDto> updateBookingStatuses(Long userId,
+                                                                List<BookingDecisionDto> decisions) {
+        userService.getUserById(userId);
+        if (decisions.isEmpty()) return List.of();
+        Set<Long> bookingIds = new HashSet<>();
+        for (BookingDecisionDto decision : decisions) {
+            if (decision.getApproved() == null) {
+                String message = String.format("Decision for booking %d has no approved flag",
+                        decision.getBookingId());
+                log.warn("ValidationException at BookingServiceImpl.updateBookingStatuses: {}",
+                         message);
+                throw new ValidationException(message);
+            }
+            if (!bookingIds.add(decision.getBookingId())) {
+                String message = String.format("Booking %d is listed more than once",
+                        decision.getBookingId());
+                log.warn("ValidationException at BookingServiceImpl.updateBookingStatuses: {}",
+                         message);
+                throw new ValidationException(message);
+            }
+        }
+        Map<Long, Booking> bookings = bookingRepository.findOwnedForUpdate(bookingIds, userId)
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        List<Long> approvedIds = new ArrayList<>();
+        List<Long> rejectedIds = new ArrayList<>();
+        List<BookingDecisionResultDto> results = new ArrayList<>();
+        for (BookingDecisionDto decision : decisions) {
+            Booking booking = bookings.get(decision.getBookingId());
+            BookingDecisionOutcome outcome;
+            if (booking == null) {
+                outcome = BookingDecisionOutcome.NOT_FOUND;
+            } else if (booking.getStatus().equals(BookingStatus.APPROVED)) {
+                outcome = BookingDecisionOutcome.ALREADY_APPROVED;
+            } else if (booking.getStatus().equals(BookingStatus.REJECTED)) {
+                outcome = BookingDecisionOutcome.ALREADY_REJECTED;
+            } else if (decision.getApproved()) {
+                approvedIds.add(booking.getId());
+                outcome = BookingDecisionOutcome.APPROVED;
+            } else {
+                rejectedIds.add(booking.getId());
+                outcome = BookingDecisionOutcome.REJECTED;
+            }
+            results.add(new BookingDecisionResultDto(decision.getBookingId(), outcome));
+        }
+        if (!approvedIds.isEmpty()) {
+            bookingRepository.updateWaitingStatuses(approvedIds, userId, BookingStatus.APPROVED);
+        }
+        if (!rejectedIds.isEmpty()) {
+            bookingRepository.updateWaitingStatuses(rejectedIds, userId, BookingStatus.REJECTED);
+        }
+        afterCommit(() -> {
+            for (Long bookingId : approvedIds) {
+                bookingTransitions.schedule(bookings.get(bookingId));
+            }
+            for (Long bookingId : rejectedIds) {
+                Booking booking = bookings.get(bookingId);
+                bookingIntervalIndex.remove(booking);
+                bookingAvailability.evict(booking.getItem().getId());
+            }
+        });
+        log.info("BookingServiceImpl.updateBookingStatuses: {} approved, {} rejected by user {}",
+                 approvedIds.size(), rejectedIds.size(), userId);
+        return results;
+    }
+
+    private List<BookingDto> findBookings(Specification<Booking> role, Long userId, String state,
+                                          String after, Pageable pageable) {
+        BookingState bookingState = convertStringToBookingState(state);
+        Specification<Booking> specification = role.and(
+                BookingSpecifications.inState(bookingState, LocalDateTime.now()));
+        if (after != null && !after.isEmpty()) {
+            BookingCursor cursor = BookingCursor.decode(after);
+            specification = specification.and(BookingSpecifications.after(cursor));
+        }
+        userService.getUserById(userId);
+        return toBookingDtos(bookingRepository.findBookings(specification, pageable));
+    }
+
+    private static List<BookingDto> toBookingDtos(List<Booking> bookings) {
+        return bookings.stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
     private BookingState convertStringToBookingState(String state) {
         try {
             return BookingState.valueOf(state);
@@ -191,10 +396,76 @@ public class BookingServiceImpl implements BookingService {
             log.warn("ValidationException at BookingServiceImpl.addBooking: {}", message);
             throw new ValidationException(message);
         }
+        if (hasOverlap(itemDto.getId(), booking)) {
+            String message = String.format("Item %d is already booked between %s and %s",
+                    itemDto.getId(), booking.getStart(), booking.getEnd());
+            log.warn("ValidationException at BookingServiceImpl.addBooking: {}", message);
+            throw new ValidationException(message);
+        }
+        if (bookingHolds.isHeld(itemDto.getId(), booking.getStart(), booking.getEnd(), userId)) {
+            throw heldException("addBooking", itemDto.getId(), booking);
+        }
+    }
+
+    private boolean hasOverlap(Long itemId, Booking booking) {
+        if (bookingLocks.isDistributed()) {
+            return booking.getStart().isBefore(booking.getEnd())
+                    && bookingRepository.existsOverlapping(itemId, BookingIntervalIndex.BLOCKING_STATUSES,
+                    booking.getStart(), booking.getEnd());
+        }
+        return bookingIntervalIndex.hasOverlap(itemId, booking.getStart(), booking.getEnd());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private ValidationException heldException(String method, Long itemId, Booking booking) {
+        String message = String.format("Item %d is held between %s and %s",
+                itemId, booking.getStart(), booking.getEnd());
+        log.warn("ValidationException at BookingServiceImpl.{}: {}", method, message);
+        return new ValidationException(message);
+    }
+
+    private BookingHolds.Hold requireHold(String method, Long userId, String holdId,
+                                          BookingHolds.Hold hold) {
+        if (hold == null) {
+            String message = String.format("There is no active hold %s of user %d", holdId, userId);
+            log.warn("EntityNotFoundException at BookingServiceImpl.{}: {}", method, message);
+            throw new EntityNotFoundException(message);
+        }
+        return hold;
+    }
+
+    private void validateNoOverlapWithinBatch(List<Booking> bookings) {
+        List<Booking> sorted = bookings.stream()
+                .sorted(Comparator.comparing((Booking booking) -> booking.getItem().getId())
+                        .thenComparing(Booking::getStart))
+                .collect(Collectors.toList());
+        for (int i = 1; i < sorted.size(); i++) {
+            Booking previous = sorted.get(i - 1);
+            Booking booking = sorted.get(i);
+            if (previous.getItem().getId().equals(booking.getItem().getId()) &&
+                    booking.getStart().isBefore(previous.getEnd())) {
+                String message = String.format("Item %d is booked twice between %s and %s",
+                        booking.getItem().getId(), booking.getStart(), previous.getEnd());
+                log.warn("ValidationException at BookingServiceImpl.addBookings: {}", message);
+                throw new ValidationException(message);
+            }
+        }
     }
 
-    private void validateDataForStatusUpdate(Long userId, ItemDto itemDto, Booking booking) {
-        if (!userId.equals(itemDto.getOwner().getId())) {
+    private void validateDataForStatusUpdate(Long userId, Booking booking) {
+        if (!userId.equals(booking.getOwnerId())) {
             String message = String.format("User %d is not allowed to change booking %d",
                     userId, booking.getId());
             log.warn("EntityNotFoundException at BookingServiceImpl.updateBookingStatus: {}",
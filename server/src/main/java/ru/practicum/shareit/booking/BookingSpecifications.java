@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public class BookingSpecifications {
+    public static Specification<Booking> bookedBy(Long userId) {
+        return (root, query, builder) -> builder.equal(root.get("booker").get("id"), userId);
+    }
+
+    public static Specification<Booking> ownedBy(Long userId) {
+        return (root, query, builder) -> builder.equal(root.get("ownerId"), userId);
+    }
+
+    public static Specification<Booking> inState(BookingState state, LocalDateTime now) {
+        switch (state) {
+            case PAST:
+                return (root, query, builder) -> builder.lessThan(root.get("end"), now);
+            case FUTURE:
+                return (root, query, builder) -> builder.and(
+                        builder.isFalse(root.get("archived")),
+                        builder.greaterThan(root.get("end"), now),
+                        builder.greaterThan(root.get("start"), now));
+            case CURRENT:
+                return (root, query, builder) -> builder.and(
+                        builder.isFalse(root.get("archived")),
+                        builder.greaterThan(root.get("end"), now),
+                        builder.lessThan(root.get("start"), now));
+            case WAITING:
+                return hasStatus(BookingStatus.WAITING);
+            case REJECTED:
+                return hasStatus(BookingStatus.REJECTED);
+            default:
+                return (root, query, builder) -> builder.conjunction();
+        }
+    }
+
+    public static Specification<Booking> after(BookingCursor cursor) {
+        return (root, query, builder) -> builder.or(
+                builder.lessThan(root.get("start"), cursor.getStart()),
+                builder.and(
+                        builder.equal(root.get("start"), cursor.getStart()),
+                        builder.lessThan(root.get("id"), cursor.getId())));
+    }
+
+    private static Specification<Booking> hasStatus(BookingStatus status) {
+        return (root, query, builder) -> builder.equal(root.get("status"), status);
+    }
+}
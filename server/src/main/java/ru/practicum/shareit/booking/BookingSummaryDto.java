@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.EqualsAndHashCode;
+import lombok.AllArgsConstructor;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class BookingSummaryDto {
+    private Long all;
+    private Long current;
+    private Long past;
+    private Long future;
+    private Long waiting;
+    private Long rejected;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.EqualsAndHashCode;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class BookingTransitionEvent {
+    private Long bookingId;
+    private Long itemId;
+    private BookingTransition transition;
+    private LocalDateTime at;
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Slf4j
+@Component
+public class BookingTransitions {
+    private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Clock clock;
+    private final TimingWheel<BookingTransitionEvent> wheel;
+    private final Queue<BookingTransitionEvent> pending = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public BookingTransitions(BookingRepository bookingRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${shareit.booking.transitions.tick-millis}") long tickMillis,
+                              @Value("${shareit.booking.transitions.wheel-size}") int wheelSize,
+                              @Value("${shareit.booking.transitions.reload-chunk-size}") int chunkSize) {
+        this(bookingRepository, eventPublisher, tickMillis, wheelSize, chunkSize, Clock.systemDefaultZone());
+    }
+
+    BookingTransitions(BookingRepository bookingRepository, ApplicationEventPublisher eventPublisher,
+                       long tickMillis, int wheelSize, int chunkSize, Clock clock) {
+        this.bookingRepository = bookingRepository;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(tickMillis, wheelSize, clock.millis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        long total = 0;
+        Long afterId = 0L;
+        List<BookingDtoShort> bookings;
+        do {
+            bookings = bookingRepository.findScheduledBookings(BookingStatus.APPROVED, now, afterId,
+                    PageRequest.of(0, chunkSize));
+            for (BookingDtoShort booking : bookings) {
+                schedule(booking, now);
+                afterId = booking.getId();
+            }
+            total += bookings.size();
+        } while (bookings.size() == chunkSize);
+        log.info("BookingTransitions.reload: transitions of {} approved bookings scheduled", total);
+    }
+
+    public void schedule(Booking booking) {
+        schedule(new BookingDtoShort(booking.getId(), booking.getItem().getId(),
+                booking.getBooker().getId(), booking.getStart(), booking.getEnd()), LocalDateTime.now(clock));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.transitions.tick-millis}")
+    public synchronized void advance() {
+        BookingTransitionEvent event;
+        while ((event = pending.poll()) != null) {
+            if (!wheel.add(toEpochMillis(event.getAt()), event)) publish(event);
+        }
+        wheel.advance(clock.millis(), this::publish);
+    }
+
+    private void schedule(BookingDtoShort booking, LocalDateTime now) {
+        if (booking.getStart().isAfter(now)) {
+            pending.add(new BookingTransitionEvent(booking.getId(), booking.getItemId(),
+                    BookingTransition.STARTED, booking.getStart()));
+        }
+        if (booking.getEnd().isAfter(now)) {
+            pending.add(new BookingTransitionEvent(booking.getId(), booking.getItemId(),
+                    BookingTransition.ENDED, booking.getEnd()));
+        }
+    }
+
+    private void publish(BookingTransitionEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            log.warn("{} at BookingTransitions.publish: booking {} {}: {}", e.getClass().getSimpleName(),
+                     event.getBookingId(), event.getTransition(), e.getMessage());
+        }
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
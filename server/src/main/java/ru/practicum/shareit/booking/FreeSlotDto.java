@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.EqualsAndHashCode;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class FreeSlotDto {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class ItemBookingPointers {
+    private final BookingRepository bookingRepository;
+    private final Duration maxAge;
+    private final Cache<Long, Pointers> pointers;
+
+    @Autowired
+    public ItemBookingPointers(BookingRepository bookingRepository,
+                               @Value("${shareit.booking.pointers.max-items}") long maxItems,
+                               @Value("${shareit.booking.pointers.max-age}") Duration maxAge) {
+        this.bookingRepository = bookingRepository;
+        this.maxAge = maxAge;
+        this.pointers = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfter(new PointersExpiry())
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+    }
+
+    public Map<Long, Pointers> get(Collection<Long> itemIds) {
+        return pointers.getAll(itemIds, this::load);
+    }
+
+    public void add(Booking booking) {
+        BookingDtoShort bookingDtoShort = new BookingDtoShort(booking.getId(),
+                booking.getItem().getId(), booking.getBooker().getId(),
+                booking.getStart(), booking.getEnd());
+        pointers.asMap().computeIfPresent(booking.getItem().getId(), (itemId, itemPointers) ->
+                itemPointers.with(bookingDtoShort, LocalDateTime.now()));
+    }
+
+    @EventListener
+    public void onTransition(BookingTransitionEvent event) {
+        pointers.invalidate(event.getItemId());
+    }
+
+    public void clear() {
+        pointers.invalidateAll();
+    }
+
+    private Map<Long, Pointers> load(Iterable<? extends Long> itemIds) {
+        List<Long> ids = new ArrayList<>();
+        itemIds.forEach(ids::add);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingDtoShort> lastBookings = byItemId(bookingRepository.findLastBookings(ids, now));
+        Map<Long, BookingDtoShort> nextBookings = byItemId(bookingRepository.findNextBookings(ids, now));
+        Map<Long, BookingDtoShort> currentBookings = byItemId(bookingRepository.findCurrentBookings(ids, now));
+        Map<Long, Pointers> loaded = new HashMap<>();
+        for (Long itemId : ids) {
+            BookingDtoShort nextBooking = nextBookings.get(itemId);
+            BookingDtoShort currentBooking = currentBookings.get(itemId);
+            loaded.put(itemId, new Pointers(lastBookings.get(itemId), nextBooking,
+                    earliest(nextBooking == null ? null : nextBooking.getStart(),
+                            currentBooking == null ? null : currentBooking.getEnd())));
+        }
+        return loaded;
+    }
+
+    private static Map<Long, BookingDtoShort> byItemId(List<BookingDtoShort> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(BookingDtoShort::getItemId, Function.identity(),
+                        (first, second) -> first));
+    }
+
+    private static LocalDateTime earliest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return first.isBefore(second) ? first : second;
+    }
+
+    @Getter
+    public static class Pointers {
+        private final BookingDtoShort lastBooking;
+        private final BookingDtoShort nextBooking;
+        private final LocalDateTime validUntil;
+
+        Pointers(BookingDtoShort lastBooking, BookingDtoShort nextBooking, LocalDateTime validUntil) {
+            this.lastBooking = lastBooking;
+            this.nextBooking = nextBooking;
+            this.validUntil = validUntil;
+        }
+
+        Pointers with(BookingDtoShort booking, LocalDateTime now) {
+            BookingDtoShort last = lastBooking;
+            BookingDtoShort next = nextBooking;
+            LocalDateTime until = validUntil;
+            if (booking.getEnd().isBefore(now)
+                    && (last == null || booking.getEnd().isAfter(last.getEnd()))) {
+                last = booking;
+            }
+            if (booking.getStart().isAfter(now)) {
+                if (next == null || booking.getStart().isBefore(next.getStart())) {
+                    next = booking;
+                }
+                until = earliest(until, booking.getStart());
+            } else if (booking.getEnd().isAfter(now)) {
+                until = earliest(until, booking.getEnd());
+            }
+            return new Pointers(last, next, until);
+        }
+    }
+
+    private class PointersExpiry implements Expiry<Long, Pointers> {
+        @Override
+        public long expireAfterCreate(Long itemId, Pointers itemPointers, long currentTime) {
+            Duration age = maxAge;
+            if (itemPointers.getValidUntil() != null) {
+                Duration untilValid = Duration.between(LocalDateTime.now(), itemPointers.getValidUntil());
+                if (untilValid.compareTo(age) < 0) {
+                    age = untilValid.isNegative() ? Duration.ZERO : untilValid;
+                }
+            }
+            return age.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long itemId, Pointers itemPointers, long currentTime,
+                                      long currentDuration) {
+            if (itemPointers.getValidUntil() == null) return currentDuration;
+            return Math.min(currentDuration, expireAfterCreate(itemId, itemPointers, currentTime));
+        }
+
+        @Override
+        public long expireAfterRead(Long itemId, Pointers itemPointers, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(name = "shareit.booking.locks.mode", havingValue = "striped", matchIfMissing = true)
+public class StripedBookingLocks implements BookingLocks {
+    private final ReentrantLock[] stripes;
+    private final TransactionOperations transactionOperations;
+    private final Timer waitTimer;
+    private final Counter contended;
+
+    @Autowired
+    public StripedBookingLocks(@Value("${shareit.booking.locks.stripes}") int stripes,
+                               TransactionOperations transactionOperations,
+                               MeterRegistry meterRegistry) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Booking locks need at least one stripe: " + stripes);
+        }
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.transactionOperations = transactionOperations;
+        this.waitTimer = Timer.builder("shareit.booking.lock.wait")
+                .tag("mode", "striped")
+                .register(meterRegistry);
+        this.contended = Counter.builder("shareit.booking.lock.contended")
+                .tag("mode", "striped")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <T> T withItemLocks(Collection<Long> itemIds, Supplier<T> action) {
+        int[] indexes = itemIds.stream()
+                .mapToInt(itemId -> Math.floorMod(Long.hashCode(itemId), stripes.length))
+                .distinct()
+                .sorted()
+                .toArray();
+        int locked = 0;
+        try {
+            for (int index : indexes) {
+                lock(stripes[index]);
+                locked++;
+            }
+            return transactionOperations.execute(status -> action.get());
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return false;
+    }
+
+    private void lock(ReentrantLock lock) {
+        if (lock.tryLock()) {
+            waitTimer.record(0L, TimeUnit.NANOSECONDS);
+            return;
+        }
+        contended.increment();
+        long started = System.nanoTime();
+        lock.lock();
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+}
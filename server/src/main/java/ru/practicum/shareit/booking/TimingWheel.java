@@ -0,0 +1,107 @@
+package ru.practicum.shareit.booking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+class TimingWheel<T> {
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private long currentTime;
+
+    TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Timing wheel needs a positive tick and at least two buckets");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        levels.add(new Level<>(tickMillis, wheelSize));
+    }
+
+    boolean add(long expirationMillis, T value) {
+        long remainder = Math.floorMod(expirationMillis, tickMillis);
+        long expiration = remainder == 0 ? expirationMillis : expirationMillis - remainder + tickMillis;
+        return place(new Timer<>(expiration, value));
+    }
+
+    void advance(long nowMillis, Consumer<T> expired) {
+        while (currentTime + tickMillis <= nowMillis) {
+            currentTime += tickMillis;
+            for (int i = levels.size() - 1; i > 0; i--) {
+                Level<T> level = levels.get(i);
+                if (currentTime % level.tickMillis != 0) continue;
+                Timer<T> timer = level.detach(currentTime);
+                while (timer != null) {
+                    Timer<T> next = timer.next;
+                    timer.next = null;
+                    if (!place(timer)) expired.accept(timer.value);
+                    timer = next;
+                }
+            }
+            Timer<T> timer = levels.get(0).detach(currentTime);
+            while (timer != null) {
+                Timer<T> next = timer.next;
+                timer.next = null;
+                expired.accept(timer.value);
+                timer = next;
+            }
+        }
+    }
+
+    private boolean place(Timer<T> timer) {
+        if (timer.expiration <= currentTime) return false;
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                levels.add(new Level<>(Math.multiplyExact(levels.get(i - 1).tickMillis, (long) wheelSize),
+                        wheelSize));
+            }
+            Level<T> level = levels.get(i);
+            long levelTime = currentTime - currentTime % level.tickMillis;
+            if (timer.expiration < levelTime + level.tickMillis * wheelSize) {
+                level.add(timer);
+                return true;
+            }
+        }
+    }
+
+    private static class Level<T> {
+        private final long tickMillis;
+        private final Timer<T>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMillis, int wheelSize) {
+            this.tickMillis = tickMillis;
+            this.buckets = new Timer[wheelSize];
+        }
+
+        void add(Timer<T> timer) {
+            int index = index(timer.expiration);
+            timer.next = buckets[index];
+            buckets[index] = timer;
+        }
+
+        Timer<T> detach(long time) {
+            int index = index(time);
+            Timer<T> timer = buckets[index];
+            buckets[index] = null;
+            return timer;
+        }
+
+        private int index(long time) {
+            return (int) ((time / tickMillis) % buckets.length);
+        }
+    }
+
+    private static class Timer<T> {
+        private final long expiration;
+        private final T value;
+        private Timer<T> next;
+
+        Timer(long expiration, T value) {
+            this.expiration = expiration;
+            this.value = value;
+        }
+    }
+}
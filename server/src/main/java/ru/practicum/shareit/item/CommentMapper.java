@@ -12,6 +12,15 @@ public class CommentMapper {
         );
     }
 
+    public static CommentDto toCommentDto(ItemCommentDto comment) {
+        return new CommentDto(
+                comment.getId(),
+                comment.getText(),
+                comment.getAuthorName(),
+                comment.getCreated()
+        );
+    }
+
     public static Comment toComment(CommentDto commentDto) {
         return new Comment(
                 null,
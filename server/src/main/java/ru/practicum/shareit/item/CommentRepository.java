@@ -1,9 +1,17 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long itemId);
+    @Query("SELECT new ru.practicum.shareit.item.ItemCommentDto(" +
+           "       c.item.id, c.id, c.text, a.name, c.created) " +
+           "FROM Comment AS c " +
+           "JOIN c.author AS a " +
+           "WHERE c.item.id IN ?1 " +
+           "ORDER BY c.id ASC")
+    List<ItemCommentDto> findAllByItemIds(Collection<Long> itemIds);
 }
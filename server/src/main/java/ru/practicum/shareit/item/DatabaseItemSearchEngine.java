@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "database", matchIfMissing = true)
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Autowired
+    public DatabaseItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public List<ItemSnapshot> search(String text, int from, int size) {
+        return itemRepository.searchItems(text, PageRequest.of(from / size, size));
+    }
+}
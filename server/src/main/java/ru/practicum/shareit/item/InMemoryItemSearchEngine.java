@@ -0,0 +1,163 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "index")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM_LENGTH = 3;
+    private static final int REINDEX_CHUNK_SIZE = 1000;
+    private final ItemRepository itemRepository;
+    private final NavigableMap<Long, Document> documents = new TreeMap<>();
+    private final Map<String, NavigableSet<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public InMemoryItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void reindex() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            long lastId = 0L;
+            List<ItemDtoShort> chunk;
+            do {
+                chunk = itemRepository.findAvailableAfter(lastId,
+                        PageRequest.of(0, REINDEX_CHUNK_SIZE));
+                for (ItemDtoShort item : chunk) {
+                    addDocument(item.getId(), item.getName(), item.getDescription());
+                    lastId = item.getId();
+                }
+            } while (chunk.size() == REINDEX_CHUNK_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("InMemoryItemSearchEngine.reindex: {} items indexed", documents.size());
+    }
+
+    @Override
+    public List<ItemSnapshot> search(String text, int from, int size) {
+        List<Long> ids;
+        lock.readLock().lock();
+        try {
+            ids = findIds(normalize(text), (from / size) * size, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ids.isEmpty()) return Collections.emptyList();
+        return itemRepository.findSnapshotsByIds(ids)
+                .stream()
+                .sorted(Comparator.comparing(ItemSnapshot::getId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                addDocument(item.getId(), item.getName(), item.getDescription());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Long> findIds(String query, int offset, int limit) {
+        Collection<Long> candidates = documents.keySet();
+        if (query.length() >= GRAM_LENGTH) {
+            for (String gram : splitToGrams(query)) {
+                NavigableSet<Long> posting = postings.get(gram);
+                if (posting == null) return Collections.emptyList();
+                if (posting.size() < candidates.size()) candidates = posting;
+            }
+        }
+        List<Long> ids = new ArrayList<>();
+        int skipped = 0;
+        for (Long id : candidates) {
+            if (!documents.get(id).matches(query)) continue;
+            if (skipped++ < offset) continue;
+            ids.add(id);
+            if (ids.size() == limit) break;
+        }
+        return ids;
+    }
+
+    private void addDocument(Long id, String name, String description) {
+        Document document = new Document(normalize(name), normalize(description));
+        documents.put(id, document);
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> new TreeSet<>()).add(id);
+        }
+    }
+
+    private void removeDocument(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) return;
+        for (String gram : document.grams()) {
+            NavigableSet<Long> posting = postings.get(gram);
+            posting.remove(id);
+            if (posting.isEmpty()) postings.remove(gram);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> splitToGrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static class Document {
+        private final String name;
+        private final String description;
+
+        Document(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        Set<String> grams() {
+            Set<String> grams = splitToGrams(name);
+            grams.addAll(splitToGrams(description));
+            return grams;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item;
+
+import lombok.Getter;
+import lombok.EqualsAndHashCode;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class ItemCommentDto {
+    private Long itemId;
+    private Long id;
+    private String text;
+    private String authorName;
+    private LocalDateTime created;
+}
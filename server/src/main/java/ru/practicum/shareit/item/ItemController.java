@@ -1,18 +1,32 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import ru.practicum.shareit.booking.FreeSlotDto;
+
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/items")
 public class ItemController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final ItemService itemService;
+    private final Duration exportTimeout;
 
     @Autowired
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService,
+                          @Value("${shareit.item.export.timeout}") Duration exportTimeout) {
         this.itemService = itemService;
+        this.exportTimeout = exportTimeout;
     }
 
     @GetMapping
@@ -22,6 +36,30 @@ public class ItemController {
         return itemService.getOwnerItems(userId, from, size);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<List<ItemDto>> getOwnerItemsAfter(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam Long after,
+            @RequestParam(defaultValue = "10") int size) {
+        List<ItemDto> items = itemService.getOwnerItemsAfter(userId, after, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (items.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(items.get(size - 1).getId()));
+        }
+        return response.body(items);
+    }
+
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportOwnerItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               HttpServletResponse response) {
+        ItemExport export = itemService.exportOwnerItems(userId);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            export.writeTo(response.getOutputStream());
+            return null;
+        });
+    }
+
     @GetMapping("/search")
     public List<ItemDto> searchItems(@RequestParam String text,
                                      @RequestParam(defaultValue = "0") int from,
@@ -35,6 +73,15 @@ public class ItemController {
         return itemService.getItemById(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public List<FreeSlotDto> getItemAvailability(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getItemAvailability(userId, itemId, from, to);
+    }
+
     @PostMapping
     public ItemDto addItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                            @RequestBody ItemDto itemDto) {
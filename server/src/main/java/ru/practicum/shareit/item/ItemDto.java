@@ -3,7 +3,6 @@ package ru.practicum.shareit.item;
 import lombok.Getter;
 import lombok.EqualsAndHashCode;
 import lombok.AllArgsConstructor;
-import ru.practicum.shareit.booking.Booking;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,26 +21,12 @@ public class ItemDto {
     private BookingDto nextBooking;
     private List<CommentDto> comments;
 
-    public void setLastBooking(Booking booking) {
-        if (booking != null) {
-            this.lastBooking = new BookingDto(
-                    booking.getId(),
-                    booking.getBooker().getId(),
-                    booking.getStart(),
-                    booking.getEnd()
-            );
-        }
+    public void setLastBooking(BookingDto lastBooking) {
+        this.lastBooking = lastBooking;
     }
 
-    public void setNextBooking(Booking booking) {
-        if (booking != null) {
-            this.nextBooking = new BookingDto(
-                    booking.getId(),
-                    booking.getBooker().getId(),
-                    booking.getStart(),
-                    booking.getEnd()
-            );
-        }
+    public void setNextBooking(BookingDto nextBooking) {
+        this.nextBooking = nextBooking;
     }
 
     public void setComments(List<CommentDto> comments) {
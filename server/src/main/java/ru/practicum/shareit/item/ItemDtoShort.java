@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item;
+
+import lombok.Getter;
+import lombok.EqualsAndHashCode;
+import lombok.AllArgsConstructor;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class ItemDtoShort {
+    private Long id;
+    private String name;
+    private String description;
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@FunctionalInterface
+public interface ItemExport {
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class ItemExporter {
+    private static final int FLUSH_EVERY = Integer.parseInt(ItemRepository.EXPORT_FETCH_SIZE);
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+    private final ItemRepository itemRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ItemExporter(ItemRepository itemRepository, ObjectMapper objectMapper) {
+        this.itemRepository = itemRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void writeOwnerItems(Long userId, OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<ItemSnapshot> items = itemRepository.streamByOwnerId(userId)) {
+            Iterator<ItemSnapshot> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(ItemMapper.toItemDto(iterator.next())));
+                out.write(LINE_SEPARATOR);
+                if (++count % FLUSH_EVERY == 0) out.flush();
+            }
+        }
+        out.flush();
+        log.info("ItemExporter.writeOwnerItems: {} items of user {} exported", count, userId);
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.booking.BookingDtoShort;
+
 public class ItemMapper {
     public static ItemDto toItemDto(Item item) {
         return new ItemDto(
@@ -15,6 +17,20 @@ public class ItemMapper {
         );
     }
 
+    public static ItemDto toItemDto(ItemSnapshot item) {
+        return new ItemDto(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                new ItemDto.UserDto(item.getOwnerId(), item.getOwnerName()),
+                item.getRequestId(),
+                null,
+                null,
+                null
+        );
+    }
+
     public static Item toItem(ItemDto itemDto) {
         return new Item(
                 itemDto.getId(),
@@ -36,4 +52,13 @@ public class ItemMapper {
                 null
         );
     }
+
+    public static ItemDto.BookingDto toItemBookingDto(BookingDtoShort booking) {
+        return new ItemDto.BookingDto(
+                booking.getId(),
+                booking.getBookerId(),
+                booking.getStart(),
+                booking.getEnd()
+        );
+    }
 }
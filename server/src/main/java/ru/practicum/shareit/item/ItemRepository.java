@@ -1,22 +1,114 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    @Query("SELECT i FROM Item AS i " +
-           "WHERE i.owner.id = ?1 " +
+    String ITEMS_CACHE = "items";
+    String EXPORT_FETCH_SIZE = "500";
+
+    @Cacheable(cacheNames = ITEMS_CACHE, unless = "#result == null")
+    @Query("SELECT new ru.practicum.shareit.item.ItemSnapshot(" +
+           "       i.id, i.name, i.description, i.available, o.id, o.name, r.id) " +
+           "FROM Item AS i " +
+           "JOIN i.owner AS o " +
+           "LEFT JOIN i.request AS r " +
+           "WHERE i.id = ?1")
+    Optional<ItemSnapshot> findSnapshotById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = ITEMS_CACHE, key = "#p0.id", condition = "#p0.id != null")
+    <S extends Item> S save(S item);
+
+    @Override
+    @CacheEvict(cacheNames = ITEMS_CACHE)
+    void deleteById(Long id);
+
+    @Query("SELECT new ru.practicum.shareit.item.ItemSnapshot(" +
+           "       i.id, i.name, i.description, i.available, o.id, o.name, r.id) " +
+           "FROM Item AS i " +
+           "JOIN i.owner AS o " +
+           "LEFT JOIN i.request AS r " +
+           "WHERE o.id = ?1 " +
+           "ORDER BY i.id ASC")
+    List<ItemSnapshot> findByOwnerId(Long id, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.ItemSnapshot(" +
+           "       i.id, i.name, i.description, i.available, o.id, o.name, r.id) " +
+           "FROM Item AS i " +
+           "JOIN i.owner AS o " +
+           "LEFT JOIN i.request AS r " +
+           "WHERE o.id = ?1 AND " +
+           "      i.id > ?2 " +
+           "ORDER BY i.id ASC")
+    List<ItemSnapshot> findByOwnerIdAfter(Long id, Long after, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new ru.practicum.shareit.item.ItemSnapshot(" +
+           "       i.id, i.name, i.description, i.available, o.id, o.name, r.id) " +
+           "FROM Item AS i " +
+           "JOIN i.owner AS o " +
+           "LEFT JOIN i.request AS r " +
+           "WHERE o.id = ?1 " +
            "ORDER BY i.id ASC")
-    List<Item> findByOwnerId(Long id, Pageable pageable);
+    Stream<ItemSnapshot> streamByOwnerId(Long id);
 
-    @Query("SELECT i FROM Item AS i " +
+    @Query("SELECT new ru.practicum.shareit.item.ItemSnapshot(" +
+           "       i.id, i.name, i.description, i.available, o.id, o.name, r.id) " +
+           "FROM Item AS i " +
+           "JOIN i.owner AS o " +
+           "LEFT JOIN i.request AS r " +
            "WHERE i.available = true AND " +
            "      (UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) OR " +
-           "       UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%')))")
-    List<Item> searchItems(String text, Pageable pageable);
+           "       UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%'))) " +
+           "ORDER BY i.id ASC")
+    List<ItemSnapshot> searchItems(String text, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.ItemSnapshot(" +
+           "       i.id, i.name, i.description, i.available, o.id, o.name, r.id) " +
+           "FROM Item AS i " +
+           "JOIN i.owner AS o " +
+           "LEFT JOIN i.request AS r " +
+           "WHERE i.available = true AND " +
+           "      (LOWER(i.name) LIKE ?1 ESCAPE '\\' OR " +
+           "       LOWER(i.description) LIKE ?1 ESCAPE '\\') " +
+           "ORDER BY i.id ASC")
+    List<ItemSnapshot> searchItemsByTrigrams(String pattern, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.ItemSnapshot(" +
+           "       i.id, i.name, i.description, i.available, o.id, o.name, r.id) " +
+           "FROM Item AS i " +
+           "JOIN i.owner AS o " +
+           "LEFT JOIN i.request AS r " +
+           "WHERE i.id IN ?1")
+    List<ItemSnapshot> findSnapshotsByIds(Collection<Long> ids);
 
-    List<Item> findByRequestId(Long requestId);
+    @Query("SELECT new ru.practicum.shareit.item.ItemSnapshot(" +
+           "       i.id, i.name, i.description, i.available, o.id, o.name, r.id) " +
+           "FROM Item AS i " +
+           "JOIN i.owner AS o " +
+           "LEFT JOIN i.request AS r " +
+           "WHERE r.id = ?1 " +
+           "ORDER BY i.id ASC")
+    List<ItemSnapshot> findByRequestId(Long requestId);
+
+    @Query("SELECT new ru.practicum.shareit.item.ItemDtoShort(i.id, i.name, i.description) " +
+           "FROM Item AS i " +
+           "WHERE i.available = true AND " +
+           "      i.id > ?1 " +
+           "ORDER BY i.id ASC")
+    List<ItemDtoShort> findAvailableAfter(Long id, Pageable pageable);
 }
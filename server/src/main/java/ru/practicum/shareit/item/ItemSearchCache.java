@@ -0,0 +1,136 @@
+package ru.practicum.shareit.item;
+
+import lombok.EqualsAndHashCode;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+@Component
+public class ItemSearchCache {
+    private static final int ENTRY_OVERHEAD = 128;
+    private static final int ITEM_OVERHEAD = 96;
+    private final int maxEntries;
+    private final long maxMemory;
+    private final Duration expireAfterWrite;
+    private final Clock clock;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long memory;
+    private long version;
+
+    @Autowired
+    public ItemSearchCache(@Value("${shareit.search.cache.max-entries}") int maxEntries,
+                           @Value("${shareit.search.cache.max-memory}") DataSize maxMemory,
+                           @Value("${shareit.search.cache.expire-after-write}")
+                           Duration expireAfterWrite) {
+        this(maxEntries, maxMemory, expireAfterWrite, Clock.systemUTC());
+    }
+
+    ItemSearchCache(int maxEntries, DataSize maxMemory, Duration expireAfterWrite, Clock clock) {
+        if (expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+            throw new IllegalArgumentException("Search cache expiry must be positive: " +
+                    expireAfterWrite);
+        }
+        this.maxEntries = maxEntries;
+        this.maxMemory = maxMemory.toBytes();
+        this.expireAfterWrite = expireAfterWrite;
+        this.clock = clock;
+    }
+
+    public synchronized List<ItemDto> get(String text, int from, int size) {
+        Key key = new Key(normalize(text), (from / size) * size, size);
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        if (!entry.expiresAt.isAfter(clock.instant())) {
+            entries.remove(key);
+            memory -= entry.memory;
+            return null;
+        }
+        return entry.items;
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    public synchronized void put(String text, int from, int size, List<ItemDto> items,
+                                 long expectedVersion) {
+        if (version != expectedVersion) return;
+        Key key = new Key(normalize(text), (from / size) * size, size);
+        Entry entry = new Entry(List.copyOf(items), estimateMemory(key, items),
+                clock.instant().plus(expireAfterWrite));
+        if (entry.memory > maxMemory) return;
+        Entry previous = entries.put(key, entry);
+        if (previous != null) memory -= previous.memory;
+        memory += entry.memory;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || memory > maxMemory) {
+            memory -= eldest.next().memory;
+            eldest.remove();
+        }
+    }
+
+    public synchronized void evictMatching(String name, String description) {
+        version++;
+        String document = normalize(name) + " " + normalize(description);
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> cached = iterator.next();
+            if (cached.getKey().matches(document)) {
+                memory -= cached.getValue().memory;
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        version++;
+        entries.clear();
+        memory = 0;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static long estimateMemory(Key key, List<ItemDto> items) {
+        long memory = ENTRY_OVERHEAD + 2L * key.text.length();
+        for (ItemDto item : items) {
+            memory += ITEM_OVERHEAD + 2L * (length(item.getName()) + length(item.getDescription()));
+            if (item.getOwner() != null) memory += 2L * length(item.getOwner().getName());
+        }
+        return memory;
+    }
+
+    private static int length(String text) {
+        return text == null ? 0 : text.length();
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final String text;
+        private final int offset;
+        private final int size;
+
+        boolean matches(String document) {
+            for (String term : text.split("[^\\p{L}\\p{N}]+")) {
+                if (!document.contains(term)) return false;
+            }
+            return true;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final List<ItemDto> items;
+        private final long memory;
+        private final Instant expiresAt;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+@Component
+@Endpoint(id = "itemsearch")
+public class ItemSearchEndpoint {
+    private final ItemSearchEngine itemSearchEngine;
+
+    @Autowired
+    public ItemSearchEndpoint(ItemSearchEngine itemSearchEngine) {
+        this.itemSearchEngine = itemSearchEngine;
+    }
+
+    @WriteOperation
+    public void reindex() {
+        itemSearchEngine.reindex();
+    }
+}
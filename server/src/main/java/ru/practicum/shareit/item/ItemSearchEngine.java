@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+    List<ItemSnapshot> search(String text, int from, int size);
+
+    default void index(Item item) {
+    }
+
+    default void remove(Long itemId) {
+    }
+
+    default void reindex() {
+    }
+}
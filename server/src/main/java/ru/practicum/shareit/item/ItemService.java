@@ -1,14 +1,29 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.booking.FreeSlotDto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
     List<ItemDto> getOwnerItems(Long userId, int from, int size);
 
+    List<ItemDto> getOwnerItemsAfter(Long userId, Long after, int size);
+
+    ItemExport exportOwnerItems(Long userId);
+
     List<ItemDto> searchItems(String text, int from, int size);
 
     ItemDto getItemById(Long userId, Long itemId);
 
+    ItemDto getItemSnapshot(Long itemId);
+
+    List<ItemDto> getItemsByIds(Collection<Long> itemIds);
+
+    List<FreeSlotDto> getItemAvailability(Long userId, Long itemId, LocalDateTime from,
+                                          LocalDateTime to);
+
     ItemDto addItem(Long userId, ItemDto itemDto);
 
     ItemDto updateItem(Long userId, Long itemId, ItemDto itemDto);
@@ -19,7 +34,11 @@ public interface ItemService {
 
     void addLastAndNextBooking(ItemDto itemDto);
 
+    void addLastAndNextBookings(List<ItemDto> items);
+
     void addCommentsList(ItemDto itemDto);
 
+    void addCommentsLists(List<ItemDto> items);
+
     List<ItemDto> getItemsByRequestId(Long requestId);
 }
@@ -8,9 +8,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
-import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingAvailability;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.FreeSlotDto;
+import ru.practicum.shareit.booking.ItemBookingPointers;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.exception.ValidationException;
@@ -18,8 +20,10 @@ import ru.practicum.shareit.exception.AccessDeniedException;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -32,17 +36,32 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemExporter itemExporter;
+    private final BookingAvailability bookingAvailability;
+    private final ItemBookingPointers itemBookingPointers;
 
     @Autowired
     public ItemServiceImpl(ItemRepository itemRepository, UserService userService,
                            BookingRepository bookingRepository,
                            CommentRepository commentRepository,
-                           ItemRequestRepository itemRequestRepository) {
+                           ItemRequestRepository itemRequestRepository,
+                           ItemSearchEngine itemSearchEngine,
+                           ItemSearchCache itemSearchCache,
+                           ItemExporter itemExporter,
+                           BookingAvailability bookingAvailability,
+                           ItemBookingPointers itemBookingPointers) {
         this.itemRepository = itemRepository;
         this.userService = userService;
         this.bookingRepository = bookingRepository;
         this.commentRepository = commentRepository;
         this.itemRequestRepository = itemRequestRepository;
+        this.itemSearchEngine = itemSearchEngine;
+        this.itemSearchCache = itemSearchCache;
+        this.itemExporter = itemExporter;
+        this.bookingAvailability = bookingAvailability;
+        this.itemBookingPointers = itemBookingPointers;
     }
 
     @Override
@@ -53,34 +72,90 @@ public class ItemServiceImpl implements ItemService {
                 .stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
-        items.forEach(this::addLastAndNextBooking);
-        items.forEach(this::addCommentsList);
+        addLastAndNextBookings(items);
+        addCommentsLists(items);
         return items;
     }
 
+    @Override
+    public List<ItemDto> getOwnerItemsAfter(Long userId, Long after, int size) {
+        userService.getUserById(userId);
+        Pageable pageable = PageRequest.of(0, size);
+        List<ItemDto> items = itemRepository.findByOwnerIdAfter(userId, after, pageable)
+                .stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+        addLastAndNextBookings(items);
+        addCommentsLists(items);
+        return items;
+    }
+
+    @Override
+    public ItemExport exportOwnerItems(Long userId) {
+        userService.getUserById(userId);
+        return out -> itemExporter.writeOwnerItems(userId, out);
+    }
+
     @Override
     public List<ItemDto> searchItems(String text, int from, int size) {
         if (text.isBlank()) return Collections.emptyList();
-        Pageable pageable = PageRequest.of(from / size, size);
-        return itemRepository.searchItems(text, pageable)
+        List<ItemDto> cachedItems = itemSearchCache.get(text, from, size);
+        if (cachedItems != null) return cachedItems;
+        long cacheVersion = itemSearchCache.version();
+        List<ItemDto> items = itemSearchEngine.search(text, from, size)
                 .stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
+        itemSearchCache.put(text, from, size, items, cacheVersion);
+        return items;
     }
 
     @Override
     public ItemDto getItemById(Long userId, Long itemId) {
         userService.getUserById(userId);
-        Optional<Item> item = itemRepository.findById(itemId);
+        ItemDto itemDto = getItemSnapshot(itemId);
+        if (userId.equals(itemDto.getOwner().getId())) addLastAndNextBooking(itemDto);
+        addCommentsList(itemDto);
+        return itemDto;
+    }
+
+    @Override
+    public ItemDto getItemSnapshot(Long itemId) {
+        Optional<ItemSnapshot> item = itemRepository.findSnapshotById(itemId);
         if (item.isEmpty()) {
             String message = String.format("There is no item with id %d", itemId);
-            log.warn("EntityNotFoundException at ItemServiceImpl.getItemById: {}", message);
+            log.warn("EntityNotFoundException at ItemServiceImpl.getItemSnapshot: {}", message);
             throw new EntityNotFoundException(message);
         }
-        ItemDto itemDto = ItemMapper.toItemDto(item.get());
-        if (userId.equals(itemDto.getOwner().getId())) addLastAndNextBooking(itemDto);
-        addCommentsList(itemDto);
-        return itemDto;
+        return ItemMapper.toItemDto(item.get());
+    }
+
+    @Override
+    public List<ItemDto> getItemsByIds(Collection<Long> itemIds) {
+        return itemRepository.findSnapshotsByIds(itemIds)
+                .stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<FreeSlotDto> getItemAvailability(Long userId, Long itemId, LocalDateTime from,
+                                                 LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            String message = String.format("Availability window end (%s) is not after start (%s)",
+                    to, from);
+            log.warn("ValidationException at ItemServiceImpl.getItemAvailability: {}", message);
+            throw new ValidationException(message);
+        }
+        userService.getUserById(userId);
+        Optional<ItemSnapshot> item = itemRepository.findSnapshotById(itemId);
+        if (item.isEmpty()) {
+            String message = String.format("There is no item with id %d", itemId);
+            log.warn("EntityNotFoundException at ItemServiceImpl.getItemAvailability: {}", message);
+            throw new EntityNotFoundException(message);
+        }
+        if (!Boolean.TRUE.equals(item.get().getAvailable())) return Collections.emptyList();
+        return bookingAvailability.getFreeSlots(itemId, from, to);
     }
 
     @Override
@@ -93,6 +168,8 @@ public class ItemServiceImpl implements ItemService {
             request.ifPresent(item::setRequest);
         }
         Item addedItem = itemRepository.save(item);
+        itemSearchEngine.index(addedItem);
+        itemSearchCache.evictMatching(addedItem.getName(), addedItem.getDescription());
         log.info("ItemServiceImpl.addItem: item {} successfully added", addedItem.getId());
         return ItemMapper.toItemDto(addedItem);
     }
@@ -113,6 +190,7 @@ public class ItemServiceImpl implements ItemService {
             log.warn("AccessDeniedException at ItemServiceImpl.updateItem: {}", message);
             throw new AccessDeniedException(message);
         }
+        itemSearchCache.evictMatching(item.getName(), item.getDescription());
         if (newItem.getName() != null && !newItem.getName().isBlank()) {
             item.setName(newItem.getName());
         }
@@ -121,13 +199,16 @@ public class ItemServiceImpl implements ItemService {
         }
         if (newItem.getAvailable() != null) item.setAvailable(newItem.getAvailable());
         Item updatedItem = itemRepository.save(item);
+        itemSearchEngine.index(updatedItem);
+        itemSearchCache.evictMatching(updatedItem.getName(), updatedItem.getDescription());
         log.info("ItemServiceImpl.updateItem: item {} successfully updated", item.getId());
         return ItemMapper.toItemDto(updatedItem);
     }
 
     @Override
     public void deleteItemById(Long userId, Long itemId) {
-        ItemDto itemDto = getItemById(userId, itemId);
+        userService.getUserById(userId);
+        ItemDto itemDto = getItemSnapshot(itemId);
         if (!userId.equals(itemDto.getOwner().getId())) {
             String message = String.format("User %d is not allowed to delete item %d",
                                            userId, itemId);
@@ -135,20 +216,21 @@ public class ItemServiceImpl implements ItemService {
             throw new AccessDeniedException(message);
         }
         itemRepository.deleteById(itemId);
+        itemSearchEngine.remove(itemId);
+        itemSearchCache.evictMatching(itemDto.getName(), itemDto.getDescription());
         log.info("ItemServiceImpl.deleteItemById: item {} successfully deleted", itemId);
     }
 
     @Override
     public CommentDto addComment(Long userId, Long itemId, CommentDto commentDto) {
         Comment comment = CommentMapper.toComment(commentDto);
-        Booking booking = bookingRepository.findCompletedBooking(userId, itemId,
-                BookingStatus.APPROVED, LocalDateTime.now());
-        if (booking == null) {
+        if (!bookingRepository.existsCompletedBooking(userId, itemId, BookingStatus.APPROVED,
+                LocalDateTime.now())) {
             String message = String.format("User %d haven't rented item %d", userId, itemId);
             log.warn("ValidationException at ItemServiceImpl.addComment: {}", message);
             throw new ValidationException(message);
         }
-        comment.setItem(ItemMapper.toItem(getItemById(userId, itemId)));
+        comment.setItem(itemRepository.getReferenceById(itemId));
         comment.setAuthor(UserMapper.toUser(userService.getUserById(userId)));
         Comment addedComment = commentRepository.save(comment);
         log.info("ItemServiceImpl.addComment: comment {} successfully added",
@@ -158,21 +240,45 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public void addLastAndNextBooking(ItemDto itemDto) {
-        Optional<Booking> lastBooking = bookingRepository.findLastBookings(itemDto.getId(),
-                LocalDateTime.now()).stream().findFirst();
-        lastBooking.ifPresent(itemDto::setLastBooking);
-        Optional<Booking> nextBooking = bookingRepository.findNextBookings(itemDto.getId(),
-                LocalDateTime.now()).stream().findFirst();
-        nextBooking.ifPresent(itemDto::setNextBooking);
+        addLastAndNextBookings(List.of(itemDto));
+    }
+
+    @Override
+    public void addLastAndNextBookings(List<ItemDto> items) {
+        if (items.isEmpty()) return;
+        List<Long> itemIds = items.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+        Map<Long, ItemBookingPointers.Pointers> pointers = itemBookingPointers.get(itemIds);
+        for (ItemDto itemDto : items) {
+            ItemBookingPointers.Pointers itemPointers = pointers.get(itemDto.getId());
+            if (itemPointers.getLastBooking() != null) {
+                itemDto.setLastBooking(ItemMapper.toItemBookingDto(itemPointers.getLastBooking()));
+            }
+            if (itemPointers.getNextBooking() != null) {
+                itemDto.setNextBooking(ItemMapper.toItemBookingDto(itemPointers.getNextBooking()));
+            }
+        }
     }
 
     @Override
     public void addCommentsList(ItemDto itemDto) {
-        List<CommentDto> comments = commentRepository.findAllByItemId(itemDto.getId())
-                .stream()
-                .map(CommentMapper::toCommentDto)
+        addCommentsLists(List.of(itemDto));
+    }
+
+    @Override
+    public void addCommentsLists(List<ItemDto> items) {
+        if (items.isEmpty()) return;
+        List<Long> itemIds = items.stream()
+                .map(ItemDto::getId)
                 .collect(Collectors.toList());
-        itemDto.setComments(comments);
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIds(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(ItemCommentDto::getItemId,
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        for (ItemDto itemDto : items) {
+            itemDto.setComments(comments.getOrDefault(itemDto.getId(), Collections.emptyList()));
+        }
     }
 
     @Override
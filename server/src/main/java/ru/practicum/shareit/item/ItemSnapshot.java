@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item;
+
+import lombok.Getter;
+import lombok.EqualsAndHashCode;
+import lombok.AllArgsConstructor;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class ItemSnapshot {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Boolean available;
+    private final Long ownerId;
+    private final String ownerName;
+    private final Long requestId;
+}
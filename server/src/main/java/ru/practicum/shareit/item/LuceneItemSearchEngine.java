@@ -0,0 +1,209 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.MMapDirectory;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "lucene")
+public class LuceneItemSearchEngine implements ItemSearchEngine {
+    private static final String ID = "id";
+    private static final String ORDER = "order";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final float NAME_BOOST = 2.0f;
+    private static final int REINDEX_CHUNK_SIZE = 1000;
+    private static final String CLEAN = "clean";
+    private static final Sort SORT = new Sort(SortField.FIELD_SCORE,
+                                              new SortField(ORDER, SortField.Type.LONG));
+    private final ItemRepository itemRepository;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    @Autowired
+    public LuceneItemSearchEngine(ItemRepository itemRepository,
+                                  @Value("${shareit.search.lucene.path}") String path) {
+        this.itemRepository = itemRepository;
+        try {
+            this.writer = new IndexWriter(new MMapDirectory(Path.of(path)),
+                                          new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void initialize() {
+        boolean clean = false;
+        for (Map.Entry<String, String> entry : writer.getLiveCommitData()) {
+            if (CLEAN.equals(entry.getKey())) clean = Boolean.parseBoolean(entry.getValue());
+        }
+        try {
+            writer.setLiveCommitData(Map.of(CLEAN, Boolean.FALSE.toString()).entrySet());
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (writer.getDocStats().numDocs == 0) {
+            reindex();
+        } else if (!clean) {
+            log.warn("LuceneItemSearchEngine.initialize: index was not closed cleanly, reindexing");
+            reindex();
+        }
+    }
+
+    @Override
+    public synchronized void reindex() {
+        try {
+            writer.deleteAll();
+            long lastId = 0L;
+            int indexed = 0;
+            List<ItemDtoShort> chunk;
+            do {
+                chunk = itemRepository.findAvailableAfter(lastId,
+                        PageRequest.of(0, REINDEX_CHUNK_SIZE));
+                for (ItemDtoShort item : chunk) {
+                    writer.addDocument(toDocument(item.getId(), item.getName(),
+                                                  item.getDescription()));
+                    lastId = item.getId();
+                }
+                indexed += chunk.size();
+            } while (chunk.size() == REINDEX_CHUNK_SIZE);
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            log.info("LuceneItemSearchEngine.reindex: {} items indexed", indexed);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<ItemSnapshot> search(String text, int from, int size) {
+        Query query = buildQuery(text);
+        if (query == null) return Collections.emptyList();
+        int offset = (from / size) * size;
+        List<Long> ids = new ArrayList<>();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(query, offset + size, SORT).scoreDocs;
+                for (int i = offset; i < hits.length; i++) {
+                    ids.add(Long.valueOf(searcher.doc(hits[i].doc).get(ID)));
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (ids.isEmpty()) return Collections.emptyList();
+        Map<Long, ItemSnapshot> items = itemRepository.findSnapshotsByIds(ids)
+                .stream()
+                .collect(Collectors.toMap(ItemSnapshot::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized void index(Item item) {
+        try {
+            Term id = new Term(ID, item.getId().toString());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                writer.updateDocument(id, toDocument(item.getId(), item.getName(),
+                                                     item.getDescription()));
+            } else {
+                writer.deleteDocuments(id);
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void remove(Long itemId) {
+        try {
+            writer.deleteDocuments(new Term(ID, itemId.toString()));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        searcherManager.close();
+        writer.setLiveCommitData(Map.of(CLEAN, Boolean.TRUE.toString()).entrySet());
+        writer.commit();
+        writer.close();
+    }
+
+    private Document toDocument(Long id, String name, String description) {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.YES));
+        document.add(new NumericDocValuesField(ORDER, id));
+        document.add(new TextField(NAME, name, Field.Store.NO));
+        document.add(new TextField(DESCRIPTION, description, Field.Store.NO));
+        return document;
+    }
+
+    private Query buildQuery(String text) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        int terms = 0;
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute attribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                String term = attribute.toString();
+                Query termQuery = new BooleanQuery.Builder()
+                        .add(new BoostQuery(new TermQuery(new Term(NAME, term)), NAME_BOOST),
+                             BooleanClause.Occur.SHOULD)
+                        .add(new TermQuery(new Term(DESCRIPTION, term)),
+                             BooleanClause.Occur.SHOULD)
+                        .add(new BoostQuery(new PrefixQuery(new Term(NAME, term)), NAME_BOOST),
+                             BooleanClause.Occur.SHOULD)
+                        .add(new PrefixQuery(new Term(DESCRIPTION, term)),
+                             BooleanClause.Occur.SHOULD)
+                        .build();
+                query.add(termQuery, BooleanClause.Occur.MUST);
+                terms++;
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms == 0 ? null : query.build();
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Locale;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "trigram")
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Autowired
+    public TrigramItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public List<ItemSnapshot> search(String text, int from, int size) {
+        String pattern = "%" + text.toLowerCase(Locale.ROOT)
+                                   .replace("\\", "\\\\")
+                                   .replace("%", "\\%")
+                                   .replace("_", "\\_") + "%";
+        return itemRepository.searchItemsByTrigrams(pattern, PageRequest.of(from / size, size));
+    }
+}
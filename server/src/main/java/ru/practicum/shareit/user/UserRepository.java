@@ -1,6 +1,16 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.item.ItemRepository;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Override
+    @CacheEvict(cacheNames = ItemRepository.ITEMS_CACHE, allEntries = true,
+                condition = "#p0.id != null")
+    <S extends User> S save(S user);
+
+    @Override
+    @CacheEvict(cacheNames = ItemRepository.ITEMS_CACHE, allEntries = true)
+    void deleteById(Long id);
 }
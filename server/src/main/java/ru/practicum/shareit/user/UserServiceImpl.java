@@ -4,6 +4,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.booking.ItemBookingPointers;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.List;
@@ -15,10 +17,15 @@ import java.util.stream.Collectors;
 @Validated
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemBookingPointers itemBookingPointers;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, ItemSearchCache itemSearchCache,
+                           ItemBookingPointers itemBookingPointers) {
         this.userRepository = userRepository;
+        this.itemSearchCache = itemSearchCache;
+        this.itemBookingPointers = itemBookingPointers;
     }
 
     @Override
@@ -65,6 +72,7 @@ public class UserServiceImpl implements UserService {
             user.setEmail(newUser.getEmail());
         }
         User updatedUser = userRepository.save(user);
+        itemSearchCache.clear();
         log.info("UserServiceImpl.updateUser: user {} successfully updated", user.getId());
         return UserMapper.toUserDto(updatedUser);
     }
@@ -73,6 +81,8 @@ public class UserServiceImpl implements UserService {
     public void deleteUserById(Long userId) {
         getUserById(userId);
         userRepository.deleteById(userId);
+        itemSearchCache.clear();
+        itemBookingPointers.clear();
         log.info("UserServiceImpl.deleteUserById: user {} successfully deleted", userId);
     }
 }
@@ -0,0 +1,63 @@
+-- One-off conversion of bookings into a partitioned table. Run it manually before setting
+-- shareit.booking.partitions.enabled=true:
+--   psql -v ON_ERROR_STOP=1 -f partition-bookings.sql
+-- Writes to bookings are blocked while rows are copied; reads continue until the final swap.
+-- The secondary indexes from schema.sql are rebuilt on the partitioned parent and cascade to
+-- every partition, including the monthly ones BookingPartitions attaches later.
+
+BEGIN;
+
+LOCK TABLE bookings IN EXCLUSIVE MODE;
+
+CREATE TABLE bookings_partitioned (
+  id BIGINT NOT NULL,
+  start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  item_id BIGINT NOT NULL REFERENCES items ON DELETE CASCADE,
+  booker_id BIGINT NOT NULL REFERENCES users ON DELETE CASCADE,
+  status VARCHAR(50) NOT NULL,
+  owner_id BIGINT,
+  archived BOOLEAN NOT NULL DEFAULT FALSE,
+  PRIMARY KEY (id, archived, end_date),
+  CONSTRAINT bookings_item_owner_fkey FOREIGN KEY (item_id, owner_id)
+    REFERENCES items (id, owner_id) ON DELETE CASCADE ON UPDATE CASCADE
+) PARTITION BY LIST (archived);
+
+CREATE TABLE bookings_cold PARTITION OF bookings_partitioned
+  (CONSTRAINT bookings_cold_id_key UNIQUE (id))
+  FOR VALUES IN (TRUE);
+
+CREATE TABLE bookings_hot PARTITION OF bookings_partitioned
+  FOR VALUES IN (FALSE) PARTITION BY RANGE (end_date);
+
+CREATE TABLE bookings_hot_default PARTITION OF bookings_hot
+  (CONSTRAINT bookings_hot_default_id_key UNIQUE (id))
+  DEFAULT;
+
+INSERT INTO bookings_partitioned
+  (id, start_date, end_date, item_id, booker_id, status, owner_id, archived)
+SELECT id, start_date, end_date, item_id, booker_id, status, owner_id, archived
+FROM bookings;
+
+DROP TABLE bookings;
+
+ALTER TABLE bookings_partitioned RENAME TO bookings;
+
+CREATE INDEX bookings_item_id_end_date_idx ON bookings (item_id, end_date);
+
+CREATE INDEX bookings_booker_id_start_date_idx
+  ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX bookings_item_id_start_date_idx
+  ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX bookings_booker_id_status_start_date_idx
+  ON bookings (booker_id, status, start_date DESC, id DESC);
+
+CREATE INDEX bookings_owner_id_start_date_idx
+  ON bookings (owner_id, start_date DESC, id DESC);
+
+CREATE INDEX bookings_owner_id_status_start_date_idx
+  ON bookings (owner_id, status, start_date DESC, id DESC);
+
+COMMIT;
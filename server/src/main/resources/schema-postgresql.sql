@@ -0,0 +1,27 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS items_name_lower_trgm_idx
+  ON items USING GIN (LOWER(name) gin_trgm_ops) WHERE is_available;
+
+CREATE INDEX IF NOT EXISTS items_description_lower_trgm_idx
+  ON items USING GIN (LOWER(description) gin_trgm_ops) WHERE is_available;
+
+DO '
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                 WHERE conrelid = ''items''::regclass AND conname = ''uq_item_owner'') THEN
+    ALTER TABLE items ADD CONSTRAINT UQ_ITEM_OWNER UNIQUE (id, owner_id);
+  END IF;
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                 WHERE conrelid = ''bookings''::regclass AND conname = ''bookings_item_owner_fkey'') THEN
+    ALTER TABLE bookings ADD CONSTRAINT bookings_item_owner_fkey FOREIGN KEY (item_id, owner_id)
+      REFERENCES items (id, owner_id) ON DELETE CASCADE ON UPDATE CASCADE NOT VALID;
+  END IF;
+END';
+
+ALTER TABLE bookings VALIDATE CONSTRAINT bookings_item_owner_fkey;
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('bookings_seq', GREATEST((SELECT last_value FROM bookings_seq),
+                                       (SELECT COALESCE(MAX(id), 1) FROM bookings)));
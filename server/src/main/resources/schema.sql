@@ -19,18 +19,48 @@ CREATE TABLE IF NOT EXISTS items (
   is_available BOOLEAN,
   owner_id BIGINT NOT NULL REFERENCES users ON DELETE CASCADE,
   request_id BIGINT REFERENCES item_requests,
-  CONSTRAINT UQ_OWNER_ITEM_NAME UNIQUE(owner_id, name)
+  CONSTRAINT UQ_OWNER_ITEM_NAME UNIQUE(owner_id, name),
+  CONSTRAINT UQ_ITEM_OWNER UNIQUE(id, owner_id)
 );
 
+CREATE INDEX IF NOT EXISTS items_owner_id_idx ON items (owner_id, id);
+
 CREATE TABLE IF NOT EXISTS bookings (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
+  id BIGINT NOT NULL PRIMARY KEY,
   start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
   end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
   item_id BIGINT NOT NULL REFERENCES items ON DELETE CASCADE,
   booker_id BIGINT NOT NULL REFERENCES users ON DELETE CASCADE,
-  status VARCHAR(50) NOT NULL
+  status VARCHAR(50) NOT NULL,
+  owner_id BIGINT,
+  archived BOOLEAN NOT NULL DEFAULT FALSE,
+  CONSTRAINT bookings_item_owner_fkey FOREIGN KEY (item_id, owner_id)
+    REFERENCES items (id, owner_id) ON DELETE CASCADE ON UPDATE CASCADE
 );
 
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS archived BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_end_date_idx ON bookings (item_id, end_date);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_start_date_idx
+  ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_start_date_idx
+  ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_status_start_date_idx
+  ON bookings (booker_id, status, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_owner_id_start_date_idx
+  ON bookings (owner_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_owner_id_status_start_date_idx
+  ON bookings (owner_id, status, start_date DESC, id DESC);
+
 CREATE TABLE IF NOT EXISTS comments (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
   text VARCHAR(4000) NOT NULL,
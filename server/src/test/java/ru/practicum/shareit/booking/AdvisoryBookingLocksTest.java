@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AdvisoryBookingLocksTest {
+    private AdvisoryBookingLocks locks;
+    @Mock
+    private JdbcTemplate mockJdbcTemplate;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void beforeEach() {
+        locks = new AdvisoryBookingLocks(mockJdbcTemplate, TransactionOperations.withoutTransaction(),
+                meterRegistry);
+    }
+
+    @Test
+    void withItemLocksTakesSortedLocksBeforeAction() {
+        Mockito
+                .when(mockJdbcTemplate.queryForObject(Mockito.contains("pg_try_advisory_xact_lock"),
+                        Mockito.eq(Boolean.class), Mockito.anyInt()))
+                .thenReturn(true);
+
+        assertEquals("done", locks.withItemLocks(List.of(7L, 3L, 7L), () -> {
+            Mockito.verify(mockJdbcTemplate, Mockito.times(2)).queryForObject(Mockito.anyString(),
+                    Mockito.eq(Boolean.class), Mockito.anyInt());
+            return "done";
+        }));
+
+        InOrder inOrder = Mockito.inOrder(mockJdbcTemplate);
+        inOrder.verify(mockJdbcTemplate).queryForObject(Mockito.anyString(), Mockito.eq(Boolean.class),
+                Mockito.eq(3));
+        inOrder.verify(mockJdbcTemplate).queryForObject(Mockito.anyString(), Mockito.eq(Boolean.class),
+                Mockito.eq(7));
+        assertTrue(locks.isDistributed());
+        assertEquals(0.0, meterRegistry.counter("shareit.booking.lock.contended", "mode", "advisory").count());
+    }
+
+    @Test
+    void withItemLockWaitsWhenContended() {
+        Mockito
+                .when(mockJdbcTemplate.queryForObject(Mockito.contains("pg_try_advisory_xact_lock"),
+                        Mockito.eq(Boolean.class), Mockito.anyInt()))
+                .thenReturn(false);
+
+        assertEquals(1L, locks.withItemLock(1L, () -> 1L));
+
+        Mockito.verify(mockJdbcTemplate).queryForObject(Mockito.contains("pg_advisory_xact_lock"),
+                Mockito.eq(Object.class), Mockito.eq(1));
+        assertEquals(1.0, meterRegistry.counter("shareit.booking.lock.contended", "mode", "advisory").count());
+        assertEquals(1L, meterRegistry.timer("shareit.booking.lock.wait", "mode", "advisory").count());
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingAvailabilityTest {
+    private BookingAvailability availability;
+    @Mock
+    private BookingRepository mockBookingRepository;
+    private final LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private final LocalDateTime to = from.plusDays(10L);
+
+    @BeforeEach
+    void beforeEach() {
+        availability = new BookingAvailability(mockBookingRepository, 100, Duration.ofHours(1L));
+    }
+
+    @Test
+    void getFreeSlotsWithoutBookings() {
+        mockBookings(Collections.emptyList());
+
+        assertEquals(List.of(new FreeSlotDto(from, to)),
+                availability.getFreeSlots(1L, from, to));
+    }
+
+    @Test
+    void getFreeSlotsMergesOverlappingAndAdjacentBookings() {
+        mockBookings(List.of(
+                new BookingDtoShort(1L, 1L, 2L, from.plusDays(1L), from.plusDays(3L)),
+                new BookingDtoShort(2L, 1L, 2L, from.plusDays(2L), from.plusDays(4L)),
+                new BookingDtoShort(3L, 1L, 2L, from.plusDays(4L), from.plusDays(5L)),
+                new BookingDtoShort(4L, 1L, 2L, from.plusDays(9L), from.plusDays(12L))
+        ));
+
+        assertEquals(List.of(
+                new FreeSlotDto(from, from.plusDays(1L)),
+                new FreeSlotDto(from.plusDays(5L), from.plusDays(9L))
+        ), availability.getFreeSlots(1L, from, to));
+    }
+
+    @Test
+    void getFreeSlotsCachesWindow() {
+        mockBookings(Collections.emptyList());
+
+        availability.getFreeSlots(1L, from, to);
+        availability.getFreeSlots(1L, from, to);
+
+        Mockito.verify(mockBookingRepository, Mockito.times(1))
+                .findBlockingIntervalsBetween(Mockito.eq(1L), Mockito.anyCollection(),
+                        Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    void evictRecomputesOnlyEvictedItem() {
+        mockBookings(Collections.emptyList());
+        Mockito
+                .when(mockBookingRepository.findBlockingIntervalsBetween(Mockito.eq(2L),
+                        Mockito.anyCollection(), Mockito.eq(from), Mockito.eq(to)))
+                .thenReturn(Collections.emptyList());
+        availability.getFreeSlots(1L, from, to);
+        availability.getFreeSlots(2L, from, to);
+
+        availability.evict(1L);
+        availability.getFreeSlots(1L, from, to);
+        availability.getFreeSlots(2L, from, to);
+
+        Mockito.verify(mockBookingRepository, Mockito.times(2))
+                .findBlockingIntervalsBetween(Mockito.eq(1L), Mockito.anyCollection(),
+                        Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class));
+        Mockito.verify(mockBookingRepository, Mockito.times(1))
+                .findBlockingIntervalsBetween(Mockito.eq(2L), Mockito.anyCollection(),
+                        Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    void evictDuringLoadDiscardsLoadedSlots() {
+        Mockito
+                .when(mockBookingRepository.findBlockingIntervalsBetween(Mockito.eq(1L),
+                        Mockito.anyCollection(), Mockito.eq(from), Mockito.eq(to)))
+                .thenAnswer(invocation -> {
+                    availability.evict(1L);
+                    return Collections.emptyList();
+                })
+                .thenReturn(List.of(new BookingDtoShort(1L, 1L, 2L, from, to)));
+
+        availability.getFreeSlots(1L, from, to);
+
+        assertEquals(Collections.emptyList(), availability.getFreeSlots(1L, from, to));
+    }
+
+    private void mockBookings(List<BookingDtoShort> bookings) {
+        Mockito
+                .when(mockBookingRepository.findBlockingIntervalsBetween(Mockito.eq(1L),
+                        Mockito.anyCollection(), Mockito.eq(from), Mockito.eq(to)))
+                .thenReturn(bookings);
+    }
+}
@@ -9,10 +9,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
 import javax.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -69,6 +72,38 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].status").value(bookingDto.getStatus().toString()));
     }
 
+    @Test
+    void getRequesterBookingsAfter() throws Exception {
+        BookingDto bookingDtoStart = new BookingDto(1L, LocalDateTime.of(2030, 1, 1, 0, 0), null,
+                new BookingDto.ItemDto(1L, "Item 1"), new BookingDto.UserDto(1L, "User"),
+                BookingStatus.WAITING);
+        when(bookingService.getRequesterBookingsAfter(1L, "ALL", "", 1))
+                .thenReturn(List.of(bookingDtoStart));
+
+        mvc.perform(get("/bookings?after=&size=1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor",
+                        BookingCursor.of(bookingDtoStart).encode()))
+                .andExpect(jsonPath("$[0].id").value(bookingDto.getId()));
+    }
+
+    @Test
+    void getOwnerBookingsAfterLastPage() throws Exception {
+        when(bookingService.getOwnerBookingsAfter(1L, "WAITING", "cursor", 10))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings/owner?state=WAITING&after=cursor")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].id").value(bookingDto.getId()));
+    }
+
     @Test
     void getOwnerBookings() throws Exception {
         when(bookingService.getOwnerBookings(1L, "ALL", 1, 1))
@@ -129,6 +164,115 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].status").value(bookingDto.getStatus().toString()));
     }
 
+    @Test
+    void addBookings() throws Exception {
+        when(bookingService.addBookings(1L, List.of(bookingDtoAdd, bookingDtoAdd)))
+                .thenReturn(List.of(bookingDto, bookingDto));
+
+        mvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(List.of(bookingDtoAdd, bookingDtoAdd)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value(bookingDto.getId()));
+    }
+
+    @Test
+    void placeHold() throws Exception {
+        BookingHoldDto hold = new BookingHoldDto("1-1", 1L, null, null, null);
+        when(bookingService.placeHold(1L, bookingDtoAdd)).thenReturn(hold);
+
+        mvc.perform(post("/bookings/holds")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(bookingDtoAdd))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("1-1"))
+                .andExpect(jsonPath("$.itemId").value(1L));
+    }
+
+    @Test
+    void confirmHold() throws Exception {
+        when(bookingService.confirmHold(1L, "1-1")).thenReturn(bookingDto);
+
+        mvc.perform(post("/bookings/holds/1-1/confirm")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(bookingDto.getId()));
+    }
+
+    @Test
+    void releaseHoldEntityNotFoundException() throws Exception {
+        doThrow(EntityNotFoundException.class).when(bookingService).releaseHold(1L, "1-1");
+
+        mvc.perform(delete("/bookings/holds/1-1")
+                        .header("X-Sharer-User-Id", 1L)
+                )
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void updateBookingStatuses() throws Exception {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(2L, false));
+        when(bookingService.updateBookingStatuses(1L, decisions))
+                .thenReturn(List.of(
+                        new BookingDecisionResultDto(1L, BookingDecisionOutcome.APPROVED),
+                        new BookingDecisionResultDto(2L, BookingDecisionOutcome.NOT_FOUND)));
+
+        mvc.perform(patch("/bookings/owner/bulk")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(decisions))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId").value(1L))
+                .andExpect(jsonPath("$[0].outcome").value("APPROVED"))
+                .andExpect(jsonPath("$[1].bookingId").value(2L))
+                .andExpect(jsonPath("$[1].outcome").value("NOT_FOUND"));
+    }
+
+    @Test
+    void getRequesterBookingSummary() throws Exception {
+        when(bookingService.getRequesterBookingSummary(1L))
+                .thenReturn(new BookingSummaryDto(6L, 1L, 2L, 3L, 1L, 0L));
+
+        mvc.perform(get("/bookings/summary")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(6L))
+                .andExpect(jsonPath("$.current").value(1L))
+                .andExpect(jsonPath("$.past").value(2L))
+                .andExpect(jsonPath("$.future").value(3L))
+                .andExpect(jsonPath("$.waiting").value(1L))
+                .andExpect(jsonPath("$.rejected").value(0L));
+    }
+
+    @Test
+    void getOwnerBookingSummary() throws Exception {
+        when(bookingService.getOwnerBookingSummary(1L))
+                .thenReturn(new BookingSummaryDto(2L, 0L, 0L, 2L, 2L, 0L));
+
+        mvc.perform(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(2L))
+                .andExpect(jsonPath("$.future").value(2L))
+                .andExpect(jsonPath("$.waiting").value(2L));
+    }
+
     @Test
     void getBookingById() throws Exception {
         when(bookingService.getBookingById(1L, 1L)).thenReturn(bookingDto);
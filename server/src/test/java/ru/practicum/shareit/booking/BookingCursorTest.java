@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingCursorTest {
+    @Test
+    void encodeAndDecode() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2030, 1, 1, 10, 30, 15, 500), 42L);
+
+        assertEquals(cursor, BookingCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decodeMalformedCursor() {
+        assertThrows(ValidationException.class, () -> BookingCursor.decode("%%%"));
+        assertThrows(ValidationException.class, () -> BookingCursor.decode("MjAzMA"));
+        assertThrows(ValidationException.class, () -> BookingCursor.decode(
+                new BookingCursor(LocalDateTime.MIN, 1L).encode().substring(2)));
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingHoldsTest {
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1L);
+
+    @Test
+    void placeRejectsOverlappingHolds() {
+        BookingHolds holds = new BookingHolds(Duration.ofMinutes(5L), 4);
+
+        BookingHolds.Hold hold = holds.place(1L, 1L, start, start.plusHours(2L));
+
+        assertNotNull(hold);
+        assertNull(holds.place(1L, 2L, start.plusHours(1L), start.plusHours(3L)));
+        assertNull(holds.place(1L, 1L, start.plusHours(1L), start.plusHours(3L)));
+        assertNotNull(holds.place(1L, 2L, start.plusHours(2L), start.plusHours(3L)));
+        assertNotNull(holds.place(5L, 2L, start, start.plusHours(2L)));
+        assertTrue(holds.isHeld(1L, start, start.plusHours(1L), 2L));
+        assertFalse(holds.isHeld(1L, start, start.plusHours(1L), 1L));
+    }
+
+    @Test
+    void removeReturnsOnlyOwnActiveHold() {
+        BookingHolds holds = new BookingHolds(Duration.ofMinutes(5L), 4);
+        BookingHolds.Hold hold = holds.place(1L, 1L, start, start.plusHours(2L));
+
+        assertNull(holds.remove(hold.getId(), 2L));
+        assertNull(holds.remove("1-0", 1L));
+        assertNull(holds.remove("hold", 1L));
+        assertEquals(hold, holds.remove(hold.getId(), 1L));
+        assertNull(holds.remove(hold.getId(), 1L));
+        assertNotNull(holds.place(1L, 2L, start, start.plusHours(2L)));
+    }
+
+    @Test
+    void holdsExpire() throws InterruptedException {
+        BookingHolds holds = new BookingHolds(Duration.ofMillis(50L), 4);
+        BookingHolds.Hold hold = holds.place(1L, 1L, start, start.plusHours(2L));
+
+        Thread.sleep(100L);
+        holds.purgeExpired();
+
+        assertFalse(holds.isHeld(1L, start, start.plusHours(2L), null));
+        assertNull(holds.remove(hold.getId(), 1L));
+        assertNotNull(holds.place(1L, 2L, start, start.plusHours(2L)));
+    }
+
+    @Test
+    void onlyOneConcurrentHoldWins() throws Exception {
+        BookingHolds holds = new BookingHolds(Duration.ofMinutes(5L), 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<BookingHolds.Hold>> results = new ArrayList<>();
+        try {
+            for (long bookerId = 1; bookerId <= 32; bookerId++) {
+                long booker = bookerId;
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    holds.place(booker % 4, booker, start.plusHours(booker % 3),
+                            start.plusHours(booker % 3 + 3L));
+                    return holds.place(100L, booker, start, start.plusHours(2L));
+                }));
+            }
+            ready.countDown();
+            long placed = 0;
+            for (Future<BookingHolds.Hold> result : results) {
+                if (result.get() != null) placed++;
+            }
+
+            assertEquals(1, placed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingIntervalIndexTest {
+    private BookingIntervalIndex index;
+    @Mock
+    private BookingRepository mockBookingRepository;
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1L);
+    private final User user = new User(1L, "User", "user@mail.com");
+    private final Item item = new Item(1L, "Item", "Test", true, user, null);
+
+    @BeforeEach
+    void beforeEach() {
+        index = new BookingIntervalIndex(mockBookingRepository, 100, Duration.ofHours(1L));
+        Mockito
+                .when(mockBookingRepository.findBlockingIntervals(Mockito.eq(1L),
+                        Mockito.anyCollection(), Mockito.any(LocalDateTime.class)))
+                .thenReturn(List.of(
+                        new BookingDtoShort(1L, 1L, 2L, start, start.plusHours(2L)),
+                        new BookingDtoShort(2L, 1L, 2L, start.plusHours(4L), start.plusHours(6L))
+                ));
+    }
+
+    @Test
+    void hasOverlap() {
+        assertTrue(index.hasOverlap(1L, start.plusHours(1L), start.plusHours(3L)));
+        assertTrue(index.hasOverlap(1L, start.minusHours(1L), start.plusHours(7L)));
+        assertTrue(index.hasOverlap(1L, start.plusHours(5L), start.plusHours(5L).plusMinutes(1L)));
+    }
+
+    @Test
+    void hasOverlapAdjacentIntervals() {
+        assertFalse(index.hasOverlap(1L, start.plusHours(2L), start.plusHours(4L)));
+        assertFalse(index.hasOverlap(1L, start.minusHours(1L), start));
+        assertFalse(index.hasOverlap(1L, start.plusHours(6L), start.plusHours(8L)));
+    }
+
+    @Test
+    void hasOverlapLoadsItemOnce() {
+        index.hasOverlap(1L, start.plusHours(1L), start.plusHours(3L));
+        index.hasOverlap(1L, start.plusHours(2L), start.plusHours(4L));
+
+        Mockito.verify(mockBookingRepository, Mockito.times(1))
+                .findBlockingIntervals(Mockito.eq(1L), Mockito.anyCollection(),
+                        Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    void hasOverlapBeforeHorizonQueriesDatabase() {
+        LocalDateTime past = LocalDateTime.now().minusDays(1L);
+        Mockito
+                .when(mockBookingRepository.existsOverlapping(1L,
+                        BookingIntervalIndex.BLOCKING_STATUSES, past, start))
+                .thenReturn(true);
+
+        assertTrue(index.hasOverlap(1L, past, start));
+    }
+
+    @Test
+    void addBlocksInterval() {
+        index.hasOverlap(1L, start.plusHours(2L), start.plusHours(4L));
+
+        index.add(new Booking(3L, start.plusHours(2L), start.plusHours(3L), item, user,
+                BookingStatus.WAITING));
+
+        assertTrue(index.hasOverlap(1L, start.plusHours(2L), start.plusHours(4L)));
+        assertFalse(index.hasOverlap(1L, start.plusHours(3L), start.plusHours(4L)));
+    }
+
+    @Test
+    void removeFreesInterval() {
+        index.hasOverlap(1L, start, start.plusHours(1L));
+
+        index.remove(new Booking(1L, start, start.plusHours(2L), item, user,
+                BookingStatus.REJECTED));
+
+        assertFalse(index.hasOverlap(1L, start, start.plusHours(2L)));
+        assertTrue(index.hasOverlap(1L, start.plusHours(3L), start.plusHours(5L)));
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingPartitionsTest {
+    private BookingPartitions partitions;
+    @Mock
+    private JdbcTemplate mockJdbcTemplate;
+    @Mock
+    private PlatformTransactionManager mockTransactionManager;
+
+    @BeforeEach
+    void beforeEach() {
+        partitions = new BookingPartitions(mockJdbcTemplate,
+                new TransactionTemplate(mockTransactionManager), 2);
+    }
+
+    @Test
+    void initializeRejectsUnpartitionedTable() {
+        Mockito
+                .when(mockJdbcTemplate.queryForObject(Mockito.contains("pg_partitioned_table"),
+                        Mockito.eq(Boolean.class)))
+                .thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> partitions.initialize());
+        Mockito.verify(mockJdbcTemplate, Mockito.never()).execute(Mockito.anyString());
+    }
+
+    @Test
+    void createHotPartitionsAddsMissingMonthsWithUniqueIds() {
+        Mockito
+                .when(mockJdbcTemplate.queryForObject(Mockito.eq("SELECT to_regclass(?) IS NOT NULL"),
+                        Mockito.eq(Boolean.class), Mockito.anyString()))
+                .thenReturn(false, true, false, false);
+        Mockito
+                .when(mockJdbcTemplate.queryForObject(Mockito.startsWith("SELECT pg_advisory_xact_lock"),
+                        Mockito.eq(Object.class)))
+                .thenReturn(null);
+
+        partitions.createHotPartitions();
+
+        Mockito.verify(mockJdbcTemplate, Mockito.times(3)).execute(Mockito.matches(
+                "CREATE TABLE bookings_hot_y\\d{4}m\\d{2} \\(LIKE bookings_hot INCLUDING DEFAULTS, " +
+                "CONSTRAINT bookings_hot_y\\d{4}m\\d{2}_id_key UNIQUE \\(id\\)\\)"));
+        Mockito.verify(mockJdbcTemplate, Mockito.times(3))
+                .execute(Mockito.startsWith("ALTER TABLE bookings_hot ATTACH PARTITION"));
+    }
+
+    @Test
+    void createHotPartitionsLocksDefaultBeforeMovingRows() {
+        Mockito
+                .when(mockJdbcTemplate.queryForObject(Mockito.eq("SELECT to_regclass(?) IS NOT NULL"),
+                        Mockito.eq(Boolean.class), Mockito.anyString()))
+                .thenReturn(false, true, true, true);
+        Mockito
+                .when(mockJdbcTemplate.queryForObject(Mockito.startsWith("SELECT pg_advisory_xact_lock"),
+                        Mockito.eq(Object.class)))
+                .thenReturn(null);
+
+        partitions.createHotPartitions();
+
+        InOrder inOrder = Mockito.inOrder(mockJdbcTemplate);
+        inOrder.verify(mockJdbcTemplate)
+                .execute("LOCK TABLE bookings_hot_default IN SHARE ROW EXCLUSIVE MODE");
+        inOrder.verify(mockJdbcTemplate).update(Mockito.contains("DELETE FROM bookings_hot_default"),
+                Mockito.any(LocalDateTime.class), Mockito.any(LocalDateTime.class));
+        inOrder.verify(mockJdbcTemplate)
+                .execute(Mockito.startsWith("ALTER TABLE bookings_hot ATTACH PARTITION"));
+    }
+
+    @Test
+    void migrationScriptKeepsReadsAndIdUniquenessPerLeaf() throws IOException {
+        String script = StreamUtils.copyToString(
+                new ClassPathResource("db/partition-bookings.sql").getInputStream(), StandardCharsets.UTF_8);
+        List<String> statements = new ArrayList<>();
+        ScriptUtils.splitSqlScript(null, script, ";", "--", "/*", "*/", statements);
+
+        assertEquals("BEGIN", statements.get(0));
+        assertEquals("LOCK TABLE bookings IN EXCLUSIVE MODE", statements.get(1));
+        assertEquals("COMMIT", statements.get(statements.size() - 1));
+        List<String> leaves = statements.stream()
+                .filter(statement -> statement.contains(" PARTITION OF "))
+                .filter(statement -> !statement.contains(" PARTITION BY "))
+                .collect(Collectors.toList());
+        assertEquals(2, leaves.size());
+        leaves.forEach(leaf -> assertTrue(leaf.contains("UNIQUE (id)"), leaf));
+    }
+
+    @Test
+    void migrationScriptRecreatesBookingIndexes() throws IOException {
+        String script = StreamUtils.copyToString(
+                new ClassPathResource("db/partition-bookings.sql").getInputStream(), StandardCharsets.UTF_8);
+        String schema = StreamUtils.copyToString(
+                new ClassPathResource("schema.sql").getInputStream(), StandardCharsets.UTF_8);
+        List<String> statements = new ArrayList<>();
+        ScriptUtils.splitSqlScript(null, script, ";", "--", "/*", "*/", statements);
+        List<String> schemaStatements = new ArrayList<>();
+        ScriptUtils.splitSqlScript(null, schema, ";", "--", "/*", "*/", schemaStatements);
+        int renamed = statements.indexOf("ALTER TABLE bookings_partitioned RENAME TO bookings");
+        List<String> indexes = schemaStatements.stream()
+                .filter(statement -> statement.startsWith("CREATE INDEX IF NOT EXISTS bookings_"))
+                .map(statement -> statement.replace("CREATE INDEX IF NOT EXISTS ", "CREATE INDEX "))
+                .collect(Collectors.toList());
+
+        assertFalse(indexes.isEmpty());
+        assertTrue(renamed > 0);
+        assertEquals(indexes, statements.subList(renamed + 1, renamed + 1 + indexes.size()));
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.BookingSpecifications.after;
+import static ru.practicum.shareit.booking.BookingSpecifications.bookedBy;
+import static ru.practicum.shareit.booking.BookingSpecifications.inState;
+import static ru.practicum.shareit.booking.BookingSpecifications.ownedBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "ru.practicum.shareit.booking.BookingQueryPlanTest$LastStatement")
+public class BookingQueryPlanTest {
+    private static final Pattern BOOKINGS_ACCESS =
+            Pattern.compile("\"PUBLIC\"\\.\"BOOKINGS\" \"\\w+\"\\s+/\\*(.*?)\\*/", Pattern.DOTALL);
+    @Autowired
+    private BookingRepository repository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void everyRoleAndStateUsesAnIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        BookingCursor cursor = new BookingCursor(now, 10L);
+        Map<String, Specification<Booking>> roles = Map.of("BOOKER_ID", bookedBy(1L), "OWNER_ID", ownedBy(1L));
+        for (Map.Entry<String, Specification<Booking>> role : roles.entrySet()) {
+            for (BookingState state : BookingState.values()) {
+                Specification<Booking> specification = role.getValue().and(inState(state, now));
+                assertSeeksBy(role.getKey(), specification);
+                assertSeeksBy(role.getKey(), specification.and(after(cursor)));
+            }
+        }
+    }
+
+    private void assertSeeksBy(String column, Specification<Booking> specification) {
+        LastStatement.sql = null;
+        repository.findBookings(specification, PageRequest.of(0, 10));
+        assertNotNull(LastStatement.sql);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + LastStatement.sql, String.class);
+        Matcher access = BOOKINGS_ACCESS.matcher(plan);
+        assertTrue(access.find(), plan);
+        assertFalse(access.group(1).contains("tableScan"), plan);
+        assertTrue(access.group(1).contains(column + " = "), plan);
+        assertFalse(plan.contains("\"PUBLIC\".\"ITEMS\""), plan);
+    }
+
+    public static class LastStatement implements StatementInspector {
+        static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            LastStatement.sql = sql;
+            return sql;
+        }
+    }
+}
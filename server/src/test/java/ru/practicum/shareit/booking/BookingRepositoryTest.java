@@ -11,10 +11,16 @@ import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.BookingSpecifications.bookedBy;
+import static ru.practicum.shareit.booking.BookingSpecifications.inState;
+import static ru.practicum.shareit.booking.BookingSpecifications.ownedBy;
 
 @DataJpaTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -46,7 +52,7 @@ public class BookingRepositoryTest {
         manager.persist(bookingAdd1);
         manager.persist(bookingAdd2);
 
-        List<Booking> bookings = repository.findAllByBookerId(2L, page);
+        List<Booking> bookings = repository.findBookings(bookedBy(2L), page);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
@@ -56,7 +62,7 @@ public class BookingRepositoryTest {
     @Test
     void findByBookerIdAndStatus() {
         Booking bookingAdd = new Booking(null, LocalDateTime.MIN, LocalDateTime.MAX,
-                item1, user2, BookingStatus.APPROVED);
+                item1, user2, BookingStatus.REJECTED);
         manager.persist(userAdd1);
         manager.persist(userAdd2);
         manager.persist(itemAdd1);
@@ -64,8 +70,8 @@ public class BookingRepositoryTest {
         manager.persist(bookingAdd);
         manager.persist(bookingAdd2);
 
-        List<Booking> bookings = repository.findByBookerIdAndStatus(2L,
-                BookingStatus.APPROVED, page);
+        List<Booking> bookings = repository.findBookings(
+                bookedBy(2L).and(inState(BookingState.REJECTED, LocalDateTime.now())), page);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
@@ -83,7 +89,8 @@ public class BookingRepositoryTest {
         manager.persist(bookingAdd);
         manager.persist(bookingAdd2);
 
-        List<Booking> bookings = repository.findPastByBookerId(2L, LocalDateTime.now(), page);
+        List<Booking> bookings = repository.findBookings(
+                bookedBy(2L).and(inState(BookingState.PAST, LocalDateTime.now())), page);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
@@ -101,7 +108,8 @@ public class BookingRepositoryTest {
         manager.persist(bookingAdd);
         manager.persist(bookingAdd2);
 
-        List<Booking> bookings = repository.findFutureByBookerId(2L, LocalDateTime.now(), page);
+        List<Booking> bookings = repository.findBookings(
+                bookedBy(2L).and(inState(BookingState.FUTURE, LocalDateTime.now())), page);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
@@ -110,14 +118,17 @@ public class BookingRepositoryTest {
 
     @Test
     void findCurrentByBookerId() {
+        Booking bookingAdd = new Booking(null, LocalDateTime.now().minusDays(1L),
+                LocalDateTime.now().plusDays(1L), item1, user2, BookingStatus.APPROVED);
         manager.persist(userAdd1);
         manager.persist(userAdd2);
         manager.persist(itemAdd1);
         manager.persist(itemAdd2);
-        manager.persist(bookingAdd1);
+        manager.persist(bookingAdd);
         manager.persist(bookingAdd2);
 
-        List<Booking> bookings = repository.findAllByBookerId(2L, page);
+        List<Booking> bookings = repository.findBookings(
+                bookedBy(2L).and(inState(BookingState.CURRENT, LocalDateTime.now())), page);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
@@ -133,7 +144,7 @@ public class BookingRepositoryTest {
         manager.persist(bookingAdd1);
         manager.persist(bookingAdd2);
 
-        List<Booking> bookings = repository.findAllByOwnerId(1L, page);
+        List<Booking> bookings = repository.findBookings(ownedBy(1L), page);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
@@ -143,7 +154,7 @@ public class BookingRepositoryTest {
     @Test
     void findByOwnerIdAndStatus() {
         Booking bookingAdd = new Booking(null, LocalDateTime.MIN, LocalDateTime.MAX,
-                item1, user2, BookingStatus.APPROVED);
+                item1, user2, BookingStatus.REJECTED);
         manager.persist(userAdd1);
         manager.persist(userAdd2);
         manager.persist(itemAdd1);
@@ -151,8 +162,8 @@ public class BookingRepositoryTest {
         manager.persist(bookingAdd);
         manager.persist(bookingAdd2);
 
-        List<Booking> bookings = repository.findByOwnerIdAndStatus(1L,
-                BookingStatus.APPROVED, page);
+        List<Booking> bookings = repository.findBookings(
+                ownedBy(1L).and(inState(BookingState.REJECTED, LocalDateTime.now())), page);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
@@ -170,7 +181,8 @@ public class BookingRepositoryTest {
         manager.persist(bookingAdd);
         manager.persist(bookingAdd2);
 
-        List<Booking> bookings = repository.findPastByOwnerId(1L, LocalDateTime.now(), page);
+        List<Booking> bookings = repository.findBookings(
+                ownedBy(1L).and(inState(BookingState.PAST, LocalDateTime.now())), page);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
@@ -188,7 +200,8 @@ public class BookingRepositoryTest {
         manager.persist(bookingAdd);
         manager.persist(bookingAdd2);
 
-        List<Booking> bookings = repository.findFutureByOwnerId(1L, LocalDateTime.now(), page);
+        List<Booking> bookings = repository.findBookings(
+                ownedBy(1L).and(inState(BookingState.FUTURE, LocalDateTime.now())), page);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
@@ -197,14 +210,17 @@ public class BookingRepositoryTest {
 
     @Test
     void findCurrentByOwnerId() {
+        Booking bookingAdd = new Booking(null, LocalDateTime.now().minusDays(1L),
+                LocalDateTime.now().plusDays(1L), item1, user2, BookingStatus.APPROVED);
         manager.persist(userAdd1);
         manager.persist(userAdd2);
         manager.persist(itemAdd1);
         manager.persist(itemAdd2);
-        manager.persist(bookingAdd1);
+        manager.persist(bookingAdd);
         manager.persist(bookingAdd2);
 
-        List<Booking> bookings = repository.findAllByOwnerId(1L, page);
+        List<Booking> bookings = repository.findBookings(
+                ownedBy(1L).and(inState(BookingState.CURRENT, LocalDateTime.now())), page);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
@@ -212,7 +228,7 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void findCompletedBooking() {
+    void existsCompletedBooking() {
         Booking bookingAdd = new Booking(null, LocalDateTime.now().minusDays(2L),
                 LocalDateTime.now().minusDays(1L), item1, user2, BookingStatus.APPROVED);
         manager.persist(userAdd1);
@@ -222,46 +238,170 @@ public class BookingRepositoryTest {
         manager.persist(bookingAdd);
         manager.persist(bookingAdd2);
 
-        Booking booking = repository.findCompletedBooking(2L, 1L, BookingStatus.APPROVED,
-                LocalDateTime.now());
-
-        assertNotNull(booking);
-        assertEquals(1L, booking.getId());
+        assertTrue(repository.existsCompletedBooking(2L, 1L, BookingStatus.APPROVED,
+                LocalDateTime.now()));
+        assertFalse(repository.existsCompletedBooking(1L, 1L, BookingStatus.APPROVED,
+                LocalDateTime.now()));
+        assertFalse(repository.existsCompletedBooking(2L, 2L, BookingStatus.APPROVED,
+                LocalDateTime.now()));
     }
 
     @Test
     void findLastBookings() {
         Booking bookingAdd = new Booking(null, LocalDateTime.now().minusDays(2L),
                 LocalDateTime.now().minusDays(1L), item1, user2, BookingStatus.APPROVED);
+        Booking bookingAddEarlier = new Booking(null, LocalDateTime.now().minusDays(4L),
+                LocalDateTime.now().minusDays(3L), item1, user2, BookingStatus.APPROVED);
+        Booking bookingAddOtherItem = new Booking(null, LocalDateTime.now().minusDays(2L),
+                LocalDateTime.now().minusDays(1L), item2, user1, BookingStatus.APPROVED);
         manager.persist(userAdd1);
         manager.persist(userAdd2);
         manager.persist(itemAdd1);
         manager.persist(itemAdd2);
         manager.persist(bookingAdd);
+        manager.persist(bookingAddEarlier);
+        manager.persist(bookingAddOtherItem);
         manager.persist(bookingAdd2);
 
-        List<Booking> bookings = repository.findLastBookings(1L, LocalDateTime.now());
+        List<BookingDtoShort> bookings = repository.findLastBookings(List.of(1L, 2L),
+                LocalDateTime.now());
 
         assertNotNull(bookings);
-        assertEquals(1, bookings.size());
+        assertEquals(2, bookings.size());
         assertEquals(1L, bookings.get(0).getId());
+        assertEquals(1L, bookings.get(0).getItemId());
+        assertEquals(2L, bookings.get(0).getBookerId());
+        assertEquals(3L, bookings.get(1).getId());
+        assertEquals(2L, bookings.get(1).getItemId());
     }
 
     @Test
     void findNextBookings() {
         Booking bookingAdd = new Booking(null, LocalDateTime.now().plusDays(1L),
                 LocalDateTime.now().plusDays(2L), item1, user2, BookingStatus.APPROVED);
+        Booking bookingAddLater = new Booking(null, LocalDateTime.now().plusDays(3L),
+                LocalDateTime.now().plusDays(4L), item1, user2, BookingStatus.APPROVED);
         manager.persist(userAdd1);
         manager.persist(userAdd2);
         manager.persist(itemAdd1);
         manager.persist(itemAdd2);
         manager.persist(bookingAdd);
+        manager.persist(bookingAddLater);
         manager.persist(bookingAdd2);
 
-        List<Booking> bookings = repository.findNextBookings(1L, LocalDateTime.now());
+        List<BookingDtoShort> bookings = repository.findNextBookings(List.of(1L),
+                LocalDateTime.now());
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         assertEquals(1L, bookings.get(0).getId());
+        assertEquals(1L, bookings.get(0).getItemId());
+    }
+
+    @Test
+    void findBlockingIntervals() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        manager.persist(new Booking(null, now.minusDays(2L), now.minusDays(1L),
+                item1, user2, BookingStatus.APPROVED));
+        manager.persist(new Booking(null, now.plusDays(1L), now.plusDays(2L),
+                item1, user2, BookingStatus.REJECTED));
+        manager.persist(new Booking(null, now.plusDays(3L), now.plusDays(4L),
+                item1, user2, BookingStatus.WAITING));
+
+        List<BookingDtoShort> bookings = repository.findBlockingIntervals(1L,
+                BookingIntervalIndex.BLOCKING_STATUSES, now);
+
+        assertEquals(List.of(new BookingDtoShort(3L, 1L, 2L, now.plusDays(3L), now.plusDays(4L))),
+                bookings);
+    }
+
+    @Test
+    void existsOverlapping() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        manager.persist(new Booking(null, now.plusDays(1L), now.plusDays(2L),
+                item1, user2, BookingStatus.APPROVED));
+        manager.persist(new Booking(null, now.plusDays(3L), now.plusDays(4L),
+                item1, user2, BookingStatus.REJECTED));
+
+        assertTrue(repository.existsOverlapping(1L, BookingIntervalIndex.BLOCKING_STATUSES,
+                now.plusHours(36L), now.plusDays(3L)));
+        assertFalse(repository.existsOverlapping(1L, BookingIntervalIndex.BLOCKING_STATUSES,
+                now.plusDays(2L), now.plusDays(5L)));
+    }
+
+    @Test
+    void findBlockingIntervalsBetween() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        manager.persist(new Booking(null, now.plusDays(5L), now.plusDays(6L),
+                item1, user2, BookingStatus.APPROVED));
+        manager.persist(new Booking(null, now.plusDays(1L), now.plusDays(2L),
+                item1, user2, BookingStatus.WAITING));
+        manager.persist(new Booking(null, now.plusDays(3L), now.plusDays(4L),
+                item1, user2, BookingStatus.REJECTED));
+        manager.persist(new Booking(null, now.plusDays(8L), now.plusDays(9L),
+                item1, user2, BookingStatus.APPROVED));
+
+        List<BookingDtoShort> bookings = repository.findBlockingIntervalsBetween(1L,
+                BookingIntervalIndex.BLOCKING_STATUSES, now.plusDays(2L), now.plusDays(8L));
+
+        assertEquals(List.of(new BookingDtoShort(1L, 1L, 2L, now.plusDays(5L), now.plusDays(6L))),
+                bookings);
+    }
+
+    @Test
+    void backfillOwnerIds() {
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        manager.persist(itemAdd2);
+        manager.persist(bookingAdd1);
+        manager.persist(bookingAdd2);
+        manager.flush();
+        manager.getEntityManager().createNativeQuery("UPDATE bookings SET owner_id = NULL")
+                .executeUpdate();
+
+        assertEquals(1, repository.backfillOwnerIds(1));
+        assertEquals(1, repository.backfillOwnerIds(1));
+        assertEquals(0, repository.backfillOwnerIds(1));
+        manager.clear();
+        assertEquals(1L, repository.findById(1L).orElseThrow().getOwnerId());
+        assertEquals(2L, repository.findById(2L).orElseThrow().getOwnerId());
+    }
+
+    @Test
+    void archiveSettledEndedBefore() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        manager.persist(new Booking(null, now.minusDays(10L), now.minusDays(9L),
+                item1, user2, BookingStatus.APPROVED));
+        manager.persist(new Booking(null, now.minusDays(10L), now.minusDays(9L),
+                item1, user2, BookingStatus.WAITING));
+        manager.persist(new Booking(null, now.minusDays(8L), now.minusDays(7L),
+                item1, user2, BookingStatus.REJECTED));
+        manager.persist(new Booking(null, now.minusDays(2L), now.minusDays(1L),
+                item1, user2, BookingStatus.APPROVED));
+        manager.flush();
+
+        assertEquals(1, repository.archiveSettledEndedBefore(now.minusDays(5L), 1));
+        assertEquals(1, repository.archiveSettledEndedBefore(now.minusDays(5L), 1));
+        assertEquals(0, repository.archiveSettledEndedBefore(now.minusDays(5L), 1));
+        manager.clear();
+        assertTrue(repository.findById(1L).orElseThrow().getArchived());
+        assertFalse(repository.findById(2L).orElseThrow().getArchived());
+        assertTrue(repository.findById(3L).orElseThrow().getArchived());
+        assertFalse(repository.findById(4L).orElseThrow().getArchived());
+        assertEquals(4, repository.findBookings(
+                bookedBy(2L).and(inState(BookingState.PAST, now)), page).size());
     }
 }
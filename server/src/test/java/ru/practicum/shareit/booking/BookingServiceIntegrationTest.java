@@ -1,21 +1,28 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityNotFoundException;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
 @SpringBootTest
@@ -119,4 +126,180 @@ public class BookingServiceIntegrationTest {
         assertNotNull(booking);
         assertEquals(BookingStatus.APPROVED, booking.getStatus());
     }
+
+    @Test
+    void updateBookingStatusOnlyFromWaiting() {
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        manager.persist(bookingAdd1);
+
+        assertEquals(BookingStatus.REJECTED,
+                bookingService.updateBookingStatus(1L, 1L, false).getStatus());
+        assertThrows(ValidationException.class,
+                () -> bookingService.updateBookingStatus(1L, 1L, true));
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingService.updateBookingStatus(2L, 1L, true));
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingService.updateBookingStatus(1L, 2L, true));
+    }
+
+    @Test
+    void updateBookingStatuses() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1L);
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        manager.persist(itemAdd2);
+        manager.persist(new Booking(null, start, start.plusDays(1L),
+                item1, user2, BookingStatus.WAITING));
+        manager.persist(new Booking(null, start.plusDays(2L), start.plusDays(3L),
+                item1, user2, BookingStatus.WAITING));
+        manager.persist(new Booking(null, start.plusDays(4L), start.plusDays(5L),
+                item1, user2, BookingStatus.APPROVED));
+        manager.persist(new Booking(null, start, start.plusDays(1L),
+                item2, user1, BookingStatus.WAITING));
+
+        List<BookingDecisionResultDto> results = bookingService.updateBookingStatuses(1L, List.of(
+                new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(2L, false),
+                new BookingDecisionDto(3L, false),
+                new BookingDecisionDto(4L, true),
+                new BookingDecisionDto(5L, true)));
+
+        assertEquals(List.of(
+                new BookingDecisionResultDto(1L, BookingDecisionOutcome.APPROVED),
+                new BookingDecisionResultDto(2L, BookingDecisionOutcome.REJECTED),
+                new BookingDecisionResultDto(3L, BookingDecisionOutcome.ALREADY_APPROVED),
+                new BookingDecisionResultDto(4L, BookingDecisionOutcome.NOT_FOUND),
+                new BookingDecisionResultDto(5L, BookingDecisionOutcome.NOT_FOUND)), results);
+        assertEquals(BookingStatus.APPROVED, manager.find(Booking.class, 1L).getStatus());
+        assertEquals(BookingStatus.REJECTED, manager.find(Booking.class, 2L).getStatus());
+        assertEquals(BookingStatus.WAITING, manager.find(Booking.class, 4L).getStatus());
+    }
+
+    @Test
+    void getRequesterBookingsAfterWalksAllPagesOnce() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        for (int i = 0; i < 7; i++) {
+            manager.persist(new Booking(null, start.plusDays(i / 2), start.plusDays(10L),
+                    item1, user2, BookingStatus.WAITING));
+        }
+
+        List<BookingDto> firstPage = bookingService.getRequesterBookingsAfter(2L, "ALL", "", 3);
+        manager.persist(new Booking(null, start.plusDays(5L), start.plusDays(10L),
+                item1, user2, BookingStatus.WAITING));
+        List<BookingDto> secondPage = bookingService.getRequesterBookingsAfter(2L, "ALL",
+                BookingCursor.of(firstPage.get(2)).encode(), 3);
+        List<BookingDto> thirdPage = bookingService.getRequesterBookingsAfter(2L, "ALL",
+                BookingCursor.of(secondPage.get(2)).encode(), 3);
+
+        assertEquals(List.of(7L, 6L, 5L), ids(firstPage));
+        assertEquals(List.of(4L, 3L, 2L), ids(secondPage));
+        assertEquals(List.of(1L), ids(thirdPage));
+    }
+
+    @Test
+    void getOwnerBookingsAfterFiltersByState() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        for (int i = 0; i < 4; i++) {
+            BookingStatus status = i % 2 == 0 ? BookingStatus.WAITING : BookingStatus.REJECTED;
+            manager.persist(new Booking(null, start.plusDays(i), start.plusDays(10L),
+                    item1, user2, status));
+        }
+
+        List<BookingDto> firstPage = bookingService.getOwnerBookingsAfter(1L, "WAITING", "", 1);
+        List<BookingDto> secondPage = bookingService.getOwnerBookingsAfter(1L, "WAITING",
+                BookingCursor.of(firstPage.get(0)).encode(), 1);
+
+        assertEquals(List.of(3L), ids(firstPage));
+        assertEquals(List.of(1L), ids(secondPage));
+    }
+
+    private static List<Long> ids(List<BookingDto> bookings) {
+        return bookings.stream()
+                .map(BookingDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void getBookingSummaries() {
+        LocalDateTime now = LocalDateTime.now();
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        manager.persist(new Booking(null, now.minusDays(2L), now.minusDays(1L),
+                item1, user2, BookingStatus.APPROVED));
+        manager.persist(new Booking(null, now.minusDays(1L), now.plusDays(1L),
+                item1, user2, BookingStatus.APPROVED));
+        manager.persist(new Booking(null, now.plusDays(1L), now.plusDays(2L),
+                item1, user2, BookingStatus.WAITING));
+        manager.persist(new Booking(null, now.plusDays(3L), now.plusDays(4L),
+                item1, user2, BookingStatus.REJECTED));
+
+        BookingSummaryDto expected = new BookingSummaryDto(4L, 1L, 1L, 2L, 1L, 1L);
+        assertEquals(expected, bookingService.getRequesterBookingSummary(2L));
+        assertEquals(expected, bookingService.getOwnerBookingSummary(1L));
+        assertEquals(new BookingSummaryDto(0L, 0L, 0L, 0L, 0L, 0L),
+                bookingService.getRequesterBookingSummary(1L));
+    }
+
+    @Test
+    void addBookingsBatchesInserts() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1L);
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        countStatements(() -> bookingService.addBookings(2L, bookingsFrom(start, 1)));
+
+        long small = countStatements(() -> bookingService.addBookings(2L,
+                bookingsFrom(start.plusDays(10L), 2)));
+        long large = countStatements(() -> bookingService.addBookings(2L,
+                bookingsFrom(start.plusDays(20L), 20)));
+
+        assertEquals(small, large);
+        assertEquals(23L, bookingService.getRequesterBookingSummary(2L).getAll());
+    }
+
+    @Test
+    void addBookingRunsOnlyLookupAndInsert() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1L);
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        manager.flush();
+        manager.clear();
+        long cold = countStatements(() -> bookingService.addBooking(2L,
+                new BookingDtoAdd(1L, start, start.plusHours(1L))));
+        manager.clear();
+
+        long warm = countStatements(() -> bookingService.addBooking(2L,
+                new BookingDtoAdd(1L, start.plusDays(1L), start.plusDays(1L).plusHours(1L))));
+
+        assertEquals(5, cold);
+        assertEquals(2, warm);
+    }
+
+    private List<BookingDtoAdd> bookingsFrom(LocalDateTime start, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new BookingDtoAdd(1L, start.plusHours(i), start.plusHours(i + 1)))
+                .collect(Collectors.toList());
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = manager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        action.run();
+        manager.flush();
+        return statistics.getPrepareStatementCount();
+    }
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,7 +10,11 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemDto;
@@ -19,9 +24,11 @@ import ru.practicum.shareit.user.UserDto;
 import ru.practicum.shareit.user.UserService;
 
 import javax.persistence.EntityNotFoundException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,6 +37,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class BookingServiceTest {
     private BookingService bookingService;
+    private BookingAvailability bookingAvailability;
+    private BookingHolds bookingHolds;
     @Mock
     BookingRepository mockBookingRepository;
     @Mock
@@ -52,19 +61,24 @@ public class BookingServiceTest {
 
     @BeforeEach
     void beforeEach() {
+        bookingAvailability = new BookingAvailability(mockBookingRepository, 100, Duration.ofHours(1));
+        bookingHolds = new BookingHolds(Duration.ofMinutes(5L), 16);
         bookingService = new BookingServiceImpl(mockBookingRepository, mockUserService,
-                mockItemService);
+                mockItemService, new BookingIntervalIndex(mockBookingRepository, 100,
+                        Duration.ofHours(1)),
+                bookingAvailability,
+                new ItemBookingPointers(mockBookingRepository, 100, Duration.ofHours(1)),
+                new BookingTransitions(mockBookingRepository, event -> { }, 1000, 64, 100),
+                bookingHolds,
+                new StripedBookingLocks(16, TransactionOperations.withoutTransaction(),
+                        new SimpleMeterRegistry()));
     }
 
     @Test
     void getRequesterBookingsAll() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockBookingRepository.findAllByBookerId(
-                        Mockito.anyLong(),
-                        Mockito.any(Pageable.class)
-                        )
-                )
+                .when(mockBookingRepository.findBookings(Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(bookingGet));
 
         List<BookingDto> bookings = bookingService.getRequesterBookings(1L, "ALL", 0, 10);
@@ -77,12 +91,7 @@ public class BookingServiceTest {
     void getRequesterBookingsPast() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockBookingRepository.findPastByBookerId(
-                                Mockito.anyLong(),
-                                Mockito.any(LocalDateTime.class),
-                                Mockito.any(Pageable.class)
-                        )
-                )
+                .when(mockBookingRepository.findBookings(Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(bookingGet));
 
         List<BookingDto> bookings = bookingService.getRequesterBookings(1L, "PAST", 0, 10);
@@ -95,12 +104,7 @@ public class BookingServiceTest {
     void getRequesterBookingsFuture() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockBookingRepository.findFutureByBookerId(
-                                Mockito.anyLong(),
-                                Mockito.any(LocalDateTime.class),
-                                Mockito.any(Pageable.class)
-                        )
-                )
+                .when(mockBookingRepository.findBookings(Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(bookingGet));
 
         List<BookingDto> bookings = bookingService.getRequesterBookings(1L, "FUTURE", 0, 10);
@@ -113,12 +117,7 @@ public class BookingServiceTest {
     void getRequesterBookingsCurrent() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockBookingRepository.findCurrentByBookerId(
-                                Mockito.anyLong(),
-                                Mockito.any(LocalDateTime.class),
-                                Mockito.any(Pageable.class)
-                        )
-                )
+                .when(mockBookingRepository.findBookings(Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(bookingGet));
 
         List<BookingDto> bookings = bookingService.getRequesterBookings(1L, "CURRENT", 0, 10);
@@ -131,12 +130,7 @@ public class BookingServiceTest {
     void getRequesterBookingsWaiting() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockBookingRepository.findByBookerIdAndStatus(
-                                Mockito.anyLong(),
-                                Mockito.any(BookingStatus.class),
-                                Mockito.any(Pageable.class)
-                        )
-                )
+                .when(mockBookingRepository.findBookings(Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(bookingGet));
 
         List<BookingDto> bookings = bookingService.getRequesterBookings(1L, "WAITING", 0, 10);
@@ -149,12 +143,7 @@ public class BookingServiceTest {
     void getRequesterBookingsRejected() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockBookingRepository.findByBookerIdAndStatus(
-                                Mockito.anyLong(),
-                                Mockito.any(BookingStatus.class),
-                                Mockito.any(Pageable.class)
-                        )
-                )
+                .when(mockBookingRepository.findBookings(Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(bookingGet));
 
         List<BookingDto> bookings = bookingService.getRequesterBookings(1L, "REJECTED", 0, 10);
@@ -167,11 +156,7 @@ public class BookingServiceTest {
     void getOwnerBookingsAll() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockBookingRepository.findAllByOwnerId(
-                                Mockito.anyLong(),
-                                Mockito.any(Pageable.class)
-                        )
-                )
+                .when(mockBookingRepository.findBookings(Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(bookingGet));
 
         List<BookingDto> bookings = bookingService.getOwnerBookings(2L, "ALL", 0, 10);
@@ -184,12 +169,7 @@ public class BookingServiceTest {
     void getOwnerBookingsPast() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockBookingRepository.findPastByOwnerId(
-                                Mockito.anyLong(),
-                                Mockito.any(LocalDateTime.class),
-                                Mockito.any(Pageable.class)
-                        )
-                )
+                .when(mockBookingRepository.findBookings(Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(bookingGet));
 
         List<BookingDto> bookings = bookingService.getOwnerBookings(2L, "PAST", 0, 10);
@@ -202,12 +182,7 @@ public class BookingServiceTest {
     void getOwnerBookingsFuture() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockBookingRepository.findFutureByOwnerId(
-                                Mockito.anyLong(),
-                                Mockito.any(LocalDateTime.class),
-                                Mockito.any(Pageable.class)
-                        )
-                )
+                .when(mockBookingRepository.findBookings(Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(bookingGet));
 
         List<BookingDto> bookings = bookingService.getOwnerBookings(2L, "FUTURE", 0, 10);
@@ -220,12 +195,7 @@ public class BookingServiceTest {
     void getOwnerBookingsCurrent() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockBookingRepository.findCurrentByOwnerId(
-                                Mockito.anyLong(),
-                                Mockito.any(LocalDateTime.class),
-                                Mockito.any(Pageable.class)
-                        )
-                )
+                .when(mockBookingRepository.findBookings(Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(bookingGet));
 
         List<BookingDto> bookings = bookingService.getOwnerBookings(2L, "CURRENT", 0, 10);
@@ -238,12 +208,7 @@ public class BookingServiceTest {
     void getOwnerBookingsWaiting() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockBookingRepository.findByOwnerIdAndStatus(
-                                Mockito.anyLong(),
-                                Mockito.any(BookingStatus.class),
-                                Mockito.any(Pageable.class)
-                        )
-                )
+                .when(mockBookingRepository.findBookings(Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(bookingGet));
 
         List<BookingDto> bookings = bookingService.getOwnerBookings(2L, "WAITING", 0, 10);
@@ -256,12 +221,7 @@ public class BookingServiceTest {
     void getOwnerBookingsRejected() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockBookingRepository.findByOwnerIdAndStatus(
-                                Mockito.anyLong(),
-                                Mockito.any(BookingStatus.class),
-                                Mockito.any(Pageable.class)
-                        )
-                )
+                .when(mockBookingRepository.findBookings(Mockito.any(), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(bookingGet));
 
         List<BookingDto> bookings = bookingService.getOwnerBookings(2L, "REJECTED", 0, 10);
@@ -316,10 +276,30 @@ public class BookingServiceTest {
         assertThrows(EntityNotFoundException.class, () -> bookingService.getBookingById(1L, 1L));
     }
 
+    @Test
+    void getRequesterBookingsAfterInvalidCursor() {
+        assertThrows(ValidationException.class,
+                () -> bookingService.getRequesterBookingsAfter(1L, "ALL", "not-a-cursor", 10));
+    }
+
+    @Test
+    void getOwnerBookingsAfter() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
+        Mockito
+                .when(mockBookingRepository.findBookings(Mockito.any(), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(bookingGet));
+
+        List<BookingDto> bookings = bookingService.getOwnerBookingsAfter(1L, "PAST",
+                new BookingCursor(start, 5L).encode(), 10);
+
+        assertEquals(List.of(bookingExpected), bookings);
+    }
+
     @Test
     void addBooking() {
         Mockito
-                .when(mockItemService.getItemById(Mockito.anyLong(), Mockito.anyLong()))
+                .when(mockItemService.getItemSnapshot(Mockito.anyLong()))
                 .thenReturn(itemDto);
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(userDto);
         Mockito
@@ -332,10 +312,86 @@ public class BookingServiceTest {
         assertEquals(bookingExpected, booking);
     }
 
+    @Test
+    void addBookingEvictsOnlyAfterCommit() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        Mockito
+                .when(mockItemService.getItemSnapshot(Mockito.anyLong()))
+                .thenReturn(itemDto);
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(userDto);
+        Mockito
+                .when(mockBookingRepository.save(Mockito.any(Booking.class)))
+                .thenReturn(bookingGet);
+        bookingAvailability.getFreeSlots(1L, from, from.plusDays(1L));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookingService.addBooking(1L, bookingDtoSave);
+            bookingAvailability.getFreeSlots(1L, from, from.plusDays(1L));
+            Mockito.verify(mockBookingRepository, Mockito.times(1)).findBlockingIntervalsBetween(
+                    Mockito.eq(1L), Mockito.anyCollection(), Mockito.eq(from), Mockito.eq(from.plusDays(1L)));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        bookingAvailability.getFreeSlots(1L, from, from.plusDays(1L));
+
+        Mockito.verify(mockBookingRepository, Mockito.times(2)).findBlockingIntervalsBetween(
+                Mockito.eq(1L), Mockito.anyCollection(), Mockito.eq(from), Mockito.eq(from.plusDays(1L)));
+    }
+
+    @Test
+    void addBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1L);
+        Mockito.when(mockUserService.getUserById(1L)).thenReturn(userDto);
+        Mockito.when(mockItemService.getItemsByIds(Set.of(1L))).thenReturn(List.of(itemDto));
+        Mockito
+                .when(mockBookingRepository.saveAll(Mockito.<List<Booking>>any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingDto> bookings = bookingService.addBookings(1L, List.of(
+                new BookingDtoAdd(1L, start, start.plusDays(1L)),
+                new BookingDtoAdd(1L, start.plusDays(1L), start.plusDays(2L))));
+
+        assertEquals(2, bookings.size());
+        assertEquals(BookingStatus.WAITING, bookings.get(1).getStatus());
+        assertEquals(1L, bookings.get(1).getBooker().getId());
+    }
+
+    @Test
+    void addBookingsOverlappingWithinBatch() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1L);
+        Mockito.when(mockUserService.getUserById(1L)).thenReturn(userDto);
+        Mockito.when(mockItemService.getItemsByIds(Set.of(1L))).thenReturn(List.of(itemDto));
+
+        assertThrows(ValidationException.class, () -> bookingService.addBookings(1L, List.of(
+                new BookingDtoAdd(1L, start.plusDays(1L), start.plusDays(3L)),
+                new BookingDtoAdd(1L, start, start.plusDays(2L)))));
+        Mockito.verify(mockBookingRepository, Mockito.never()).saveAll(Mockito.any());
+    }
+
+    @Test
+    void addBookingsEmptyList() {
+        assertThrows(ValidationException.class, () -> bookingService.addBookings(1L, List.of()));
+        Mockito.verifyNoInteractions(mockUserService, mockBookingRepository);
+    }
+
+    @Test
+    void addBookingsUnknownItem() {
+        Mockito.when(mockUserService.getUserById(1L)).thenReturn(userDto);
+        Mockito.when(mockItemService.getItemsByIds(Set.of(2L))).thenReturn(List.of());
+
+        assertThrows(EntityNotFoundException.class, () -> bookingService.addBookings(1L,
+                List.of(new BookingDtoAdd(2L, LocalDateTime.now().plusDays(1L),
+                        LocalDateTime.now().plusDays(2L)))));
+    }
+
     @Test
     void addBookingForOwnItem() {
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(userDto);
         Mockito
-                .when(mockItemService.getItemById(Mockito.anyLong(), Mockito.anyLong()))
+                .when(mockItemService.getItemSnapshot(Mockito.anyLong()))
                 .thenReturn(itemDto);
 
         assertThrows(EntityNotFoundException.class,
@@ -347,8 +403,9 @@ public class BookingServiceTest {
         ItemDto itemDtoUnavailable = new ItemDto(1L, "Item 1", "Test", false,
                 new ItemDto.UserDto(2L, "User2"), null, null, null, null);
 
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(userDto);
         Mockito
-                .when(mockItemService.getItemById(Mockito.anyLong(), Mockito.anyLong()))
+                .when(mockItemService.getItemSnapshot(Mockito.anyLong()))
                 .thenReturn(itemDtoUnavailable);
 
         assertThrows(ValidationException.class, () -> bookingService.addBooking(1L, bookingDtoSave));
@@ -359,12 +416,119 @@ public class BookingServiceTest {
         BookingDtoAdd bookingDtoAdd = new BookingDtoAdd(1L, LocalDateTime.MAX,
                 LocalDateTime.MIN);
 
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(userDto);
+        Mockito
+                .when(mockItemService.getItemSnapshot(Mockito.anyLong()))
+                .thenReturn(itemDto);
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.addBooking(1L, bookingDtoAdd));
+    }
+
+    @Test
+    void addBookingOverlapsExistingBooking() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1L);
+        BookingDtoAdd bookingDtoAdd = new BookingDtoAdd(1L, start.plusHours(1L),
+                start.plusHours(3L));
+        BookingDtoShort bookingExisting = new BookingDtoShort(2L, 1L, 3L, start,
+                start.plusHours(2L));
+
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(userDto);
         Mockito
-                .when(mockItemService.getItemById(Mockito.anyLong(), Mockito.anyLong()))
+                .when(mockItemService.getItemSnapshot(Mockito.anyLong()))
                 .thenReturn(itemDto);
+        Mockito
+                .when(mockBookingRepository.findBlockingIntervals(Mockito.eq(1L),
+                        Mockito.anyCollection(), Mockito.any(LocalDateTime.class)))
+                .thenReturn(List.of(bookingExisting));
 
         assertThrows(ValidationException.class,
                 () -> bookingService.addBooking(1L, bookingDtoAdd));
+        Mockito.verify(mockBookingRepository, Mockito.never()).save(Mockito.any(Booking.class));
+    }
+
+    @Test
+    void addBookingOverlapsPastBooking() {
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(userDto);
+        Mockito
+                .when(mockItemService.getItemSnapshot(Mockito.anyLong()))
+                .thenReturn(itemDto);
+        Mockito
+                .when(mockBookingRepository.existsOverlapping(Mockito.eq(1L),
+                        Mockito.anyCollection(), Mockito.eq(LocalDateTime.MIN),
+                        Mockito.eq(LocalDateTime.MAX)))
+                .thenReturn(true);
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.addBooking(1L, bookingDtoSave));
+    }
+
+    @Test
+    void placeHoldThenConfirm() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1L);
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(userDto);
+        Mockito
+                .when(mockItemService.getItemSnapshot(Mockito.anyLong()))
+                .thenReturn(itemDto);
+        Mockito
+                .when(mockBookingRepository.save(Mockito.any(Booking.class)))
+                .thenReturn(bookingGet);
+
+        BookingHoldDto hold = bookingService.placeHold(1L, new BookingDtoAdd(1L, start,
+                start.plusHours(2L)));
+
+        assertThrows(ValidationException.class, () -> bookingService.placeHold(3L,
+                new BookingDtoAdd(1L, start.plusHours(1L), start.plusHours(3L))));
+        Mockito.verify(mockUserService, Mockito.never()).getUserById(3L);
+        assertThrows(ValidationException.class, () -> bookingService.addBooking(3L,
+                new BookingDtoAdd(1L, start.plusHours(1L), start.plusHours(3L))));
+        assertEquals(bookingExpected, bookingService.confirmHold(1L, hold.getId()));
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingService.confirmHold(1L, hold.getId()));
+        Mockito.verify(mockBookingRepository, Mockito.times(1)).save(Mockito.any(Booking.class));
+    }
+
+    @Test
+    void confirmHoldFailureKeepsHold() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1L);
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(userDto);
+        Mockito
+                .when(mockItemService.getItemSnapshot(Mockito.anyLong()))
+                .thenReturn(itemDto);
+        Mockito
+                .when(mockBookingRepository.save(Mockito.any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("bookings_pkey"))
+                .thenReturn(bookingGet);
+
+        BookingHoldDto hold = bookingService.placeHold(1L, new BookingDtoAdd(1L, start,
+                start.plusHours(2L)));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.confirmHold(1L, hold.getId()));
+        assertNotNull(bookingHolds.find(hold.getId(), 1L));
+        assertThrows(ValidationException.class, () -> bookingService.placeHold(3L,
+                new BookingDtoAdd(1L, start.plusHours(1L), start.plusHours(3L))));
+        assertEquals(bookingExpected, bookingService.confirmHold(1L, hold.getId()));
+        assertNull(bookingHolds.find(hold.getId(), 1L));
+    }
+
+    @Test
+    void releaseHold() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1L);
+        BookingDtoAdd bookingDtoAdd = new BookingDtoAdd(1L, start, start.plusHours(2L));
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(userDto);
+        Mockito
+                .when(mockItemService.getItemSnapshot(Mockito.anyLong()))
+                .thenReturn(itemDto);
+        BookingHoldDto hold = bookingService.placeHold(1L, bookingDtoAdd);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingService.releaseHold(3L, hold.getId()));
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingService.releaseHold(1L, "unknown"));
+        bookingService.releaseHold(1L, hold.getId());
+
+        assertNotNull(bookingService.placeHold(3L, bookingDtoAdd));
     }
 
     @Test
@@ -376,12 +540,11 @@ public class BookingServiceTest {
                 new BookingDto.UserDto(1L, "User"), BookingStatus.APPROVED);
 
         Mockito
-                .when(mockBookingRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(bookingGet));
+                .when(mockBookingRepository.updateWaitingStatus(1L, 2L, BookingStatus.APPROVED))
+                .thenReturn(1);
         Mockito
-                .when(mockItemService.getItemById(Mockito.anyLong(), Mockito.anyLong()))
-                .thenReturn(itemDto);
-        Mockito.when(mockBookingRepository.save(bookingUpd)).thenReturn(bookingUpd);
+                .when(mockBookingRepository.findById(1L))
+                .thenReturn(Optional.of(bookingUpd));
 
         BookingDto booking = bookingService.updateBookingStatus(2L, 1L, true);
 
@@ -398,12 +561,11 @@ public class BookingServiceTest {
                 new BookingDto.UserDto(1L, "User"), BookingStatus.REJECTED);
 
         Mockito
-                .when(mockBookingRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(bookingGet));
+                .when(mockBookingRepository.updateWaitingStatus(1L, 2L, BookingStatus.REJECTED))
+                .thenReturn(1);
         Mockito
-                .when(mockItemService.getItemById(Mockito.anyLong(), Mockito.anyLong()))
-                .thenReturn(itemDto);
-        Mockito.when(mockBookingRepository.save(bookingUpd)).thenReturn(bookingUpd);
+                .when(mockBookingRepository.findById(1L))
+                .thenReturn(Optional.of(bookingUpd));
 
         BookingDto booking = bookingService.updateBookingStatus(2L, 1L, false);
 
@@ -426,9 +588,6 @@ public class BookingServiceTest {
         Mockito
                 .when(mockBookingRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(bookingGet));
-        Mockito
-                .when(mockItemService.getItemById(Mockito.anyLong(), Mockito.anyLong()))
-                .thenReturn(itemDto);
 
         assertThrows(EntityNotFoundException.class,
                 () -> bookingService.updateBookingStatus(1L, 1L, true));
@@ -442,9 +601,6 @@ public class BookingServiceTest {
         Mockito
                 .when(mockBookingRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(bookingApproved));
-        Mockito
-                .when(mockItemService.getItemById(Mockito.anyLong(), Mockito.anyLong()))
-                .thenReturn(itemDto);
 
         assertThrows(ValidationException.class,
                 () -> bookingService.updateBookingStatus(2L, 1L, false));
@@ -458,11 +614,73 @@ public class BookingServiceTest {
         Mockito
                 .when(mockBookingRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(bookingApproved));
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.updateBookingStatus(2L, 1L, true));
+    }
+
+    @Test
+    void updateBookingStatusDeletedConcurrently() {
         Mockito
-                .when(mockItemService.getItemById(Mockito.anyLong(), Mockito.anyLong()))
-                .thenReturn(itemDto);
+                .when(mockBookingRepository.findById(1L))
+                .thenReturn(Optional.of(bookingGet))
+                .thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> bookingService.updateBookingStatus(2L, 1L, true));
+        Mockito.verify(mockBookingRepository).updateWaitingStatus(1L, 2L, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void updateBookingStatusNoLongerWaiting() {
+        Mockito
+                .when(mockBookingRepository.findById(1L))
+                .thenReturn(Optional.of(bookingGet));
 
         assertThrows(ValidationException.class,
                 () -> bookingService.updateBookingStatus(2L, 1L, true));
     }
+
+    @Test
+    void updateBookingStatusesDuplicateId() {
+        assertThrows(ValidationException.class, () -> bookingService.updateBookingStatuses(2L,
+                List.of(new BookingDecisionDto(1L, true), new BookingDecisionDto(1L, false))));
+        Mockito.verify(mockBookingRepository, Mockito.never())
+                .updateWaitingStatuses(Mockito.any(), Mockito.anyLong(), Mockito.any());
+    }
+
+    @Test
+    void updateBookingStatusesWithoutApprovedFlag() {
+        assertThrows(ValidationException.class, () -> bookingService.updateBookingStatuses(2L,
+                List.of(new BookingDecisionDto(1L, null))));
+        Mockito.verify(mockBookingRepository, Mockito.never())
+                .findOwnedForUpdate(Mockito.any(), Mockito.anyLong());
+    }
+
+    @Test
+    void updateBookingStatusesEvictsOnlyAfterCommit() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        Mockito
+                .when(mockBookingRepository.findOwnedForUpdate(Set.of(1L), 2L))
+                .thenReturn(List.of(bookingGet));
+        bookingAvailability.getFreeSlots(1L, from, from.plusDays(1L));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookingService.updateBookingStatuses(2L, List.of(new BookingDecisionDto(1L, false)));
+            bookingAvailability.getFreeSlots(1L, from, from.plusDays(1L));
+            Mockito.verify(mockBookingRepository, Mockito.times(1)).findBlockingIntervalsBetween(
+                    Mockito.eq(1L), Mockito.anyCollection(), Mockito.eq(from), Mockito.eq(from.plusDays(1L)));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        bookingAvailability.getFreeSlots(1L, from, from.plusDays(1L));
+
+        Mockito.verify(mockBookingRepository, Mockito.times(2)).findBlockingIntervalsBetween(
+                Mockito.eq(1L), Mockito.anyCollection(), Mockito.eq(from), Mockito.eq(from.plusDays(1L)));
+        Mockito.verify(mockBookingRepository)
+                .updateWaitingStatuses(List.of(1L), 2L, BookingStatus.REJECTED);
+    }
 }
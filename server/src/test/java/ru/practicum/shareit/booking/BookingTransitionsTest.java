@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingTransitionsTest {
+    private BookingTransitions transitions;
+    @Mock
+    private BookingRepository mockBookingRepository;
+    private final List<Object> events = new ArrayList<>();
+    private final MutableClock clock = new MutableClock(LocalDateTime.of(2030, 1, 1, 0, 0));
+    private final LocalDateTime now = LocalDateTime.now(clock);
+    private final User user = new User(1L, "User", "user@mail.com");
+    private final User booker = new User(2L, "Booker", "booker@mail.com");
+    private final Item item = new Item(1L, "Item", "Test", true, user, null);
+
+    @BeforeEach
+    void beforeEach() {
+        transitions = new BookingTransitions(mockBookingRepository, events::add, 10L, 8, 2, clock);
+    }
+
+    @Test
+    void reloadSchedulesApprovedBookings() {
+        BookingDtoShort current = new BookingDtoShort(1L, 1L, 2L, now.minusDays(1L),
+                now.plusNanos(200_000_000L));
+        BookingDtoShort future = new BookingDtoShort(2L, 1L, 2L, now.plusNanos(100_000_000L),
+                now.plusNanos(300_000_000L));
+        Mockito
+                .when(mockBookingRepository.findScheduledBookings(BookingStatus.APPROVED, now, 0L,
+                        Pageable.ofSize(2)))
+                .thenReturn(List.of(current, future));
+        Mockito
+                .when(mockBookingRepository.findScheduledBookings(BookingStatus.APPROVED, now, 2L,
+                        Pageable.ofSize(2)))
+                .thenReturn(List.of(new BookingDtoShort(3L, 1L, 2L, now.plusDays(1L), now.plusDays(2L))));
+
+        transitions.reload();
+        transitions.advance();
+        assertTrue(events.isEmpty());
+        clock.advance(Duration.ofMillis(500L));
+        transitions.advance();
+
+        assertEquals(List.of(
+                new BookingTransitionEvent(2L, 1L, BookingTransition.STARTED, future.getStart()),
+                new BookingTransitionEvent(1L, 1L, BookingTransition.ENDED, current.getEnd()),
+                new BookingTransitionEvent(2L, 1L, BookingTransition.ENDED, future.getEnd())
+        ), events);
+    }
+
+    @Test
+    void scheduleEmitsTransitionsInOrder() {
+        LocalDateTime start = now.plusNanos(50_000_000L);
+        transitions.schedule(new Booking(1L, start, start.plusNanos(50_000_000L), item, booker,
+                BookingStatus.APPROVED));
+
+        clock.advance(Duration.ofMillis(60L));
+        transitions.advance();
+        assertEquals(List.of(new BookingTransitionEvent(1L, 1L, BookingTransition.STARTED, start)), events);
+        clock.advance(Duration.ofMillis(60L));
+        transitions.advance();
+
+        assertEquals(List.of(
+                new BookingTransitionEvent(1L, 1L, BookingTransition.STARTED, start),
+                new BookingTransitionEvent(1L, 1L, BookingTransition.ENDED, start.plusNanos(50_000_000L))
+        ), events);
+    }
+
+    @Test
+    void scheduleIgnoresPastTransitions() {
+        transitions.schedule(new Booking(1L, now.minusDays(2L), now.minusDays(1L), item, booker,
+                BookingStatus.APPROVED));
+
+        clock.advance(Duration.ofDays(1L));
+        transitions.advance();
+
+        assertTrue(events.isEmpty());
+    }
+
+    private static class MutableClock extends Clock {
+        private final ZoneId zone = ZoneId.systemDefault();
+        private Instant instant;
+
+        MutableClock(LocalDateTime start) {
+            this.instant = start.atZone(zone).toInstant();
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
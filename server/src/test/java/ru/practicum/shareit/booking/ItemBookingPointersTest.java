@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemBookingPointersTest {
+    private ItemBookingPointers pointers;
+    @Mock
+    private BookingRepository mockBookingRepository;
+    private final LocalDateTime now = LocalDateTime.now();
+    private final User user = new User(1L, "User", "user@mail.com");
+    private final User booker = new User(2L, "Booker", "booker@mail.com");
+    private final Item item = new Item(1L, "Item", "Test", true, user, null);
+    private final BookingDtoShort lastBooking = new BookingDtoShort(1L, 1L, 2L,
+            now.minusDays(2L), now.minusDays(1L));
+    private final BookingDtoShort nextBooking = new BookingDtoShort(2L, 1L, 2L,
+            now.plusDays(2L), now.plusDays(3L));
+
+    @BeforeEach
+    void beforeEach() {
+        pointers = new ItemBookingPointers(mockBookingRepository, 100, Duration.ofHours(1L));
+    }
+
+    @Test
+    void getLoadsOnce() {
+        stubBookings(List.of(lastBooking), List.of(nextBooking));
+
+        pointers.get(List.of(1L, 2L));
+        Map<Long, ItemBookingPointers.Pointers> itemPointers = pointers.get(List.of(1L, 2L));
+
+        assertEquals(lastBooking, itemPointers.get(1L).getLastBooking());
+        assertEquals(nextBooking, itemPointers.get(1L).getNextBooking());
+        assertNull(itemPointers.get(2L).getLastBooking());
+        assertNull(itemPointers.get(2L).getNextBooking());
+        Mockito.verify(mockBookingRepository, Mockito.times(1))
+                .findLastBookings(Mockito.anyCollection(), Mockito.any(LocalDateTime.class));
+    }
+
+    @Test
+    void addMovesPointers() {
+        stubBookings(List.of(lastBooking), List.of(nextBooking));
+        pointers.get(List.of(1L));
+
+        pointers.add(new Booking(3L, now.minusHours(4L), now.minusHours(2L), item, booker,
+                BookingStatus.WAITING));
+        pointers.add(new Booking(4L, now.plusDays(1L), now.plusDays(4L), item, booker,
+                BookingStatus.WAITING));
+        pointers.add(new Booking(5L, now.plusDays(5L), now.plusDays(6L), item, booker,
+                BookingStatus.WAITING));
+        ItemBookingPointers.Pointers itemPointers = pointers.get(List.of(1L)).get(1L);
+
+        assertEquals(3L, itemPointers.getLastBooking().getId());
+        assertEquals(4L, itemPointers.getNextBooking().getId());
+        assertEquals(now.plusDays(1L), itemPointers.getValidUntil());
+    }
+
+    @Test
+    void addIgnoresItemsNotLoaded() {
+        pointers.add(new Booking(3L, now.plusDays(1L), now.plusDays(2L), item, booker,
+                BookingStatus.WAITING));
+
+        Mockito.verifyNoInteractions(mockBookingRepository);
+    }
+
+    @Test
+    void getReloadsWhenBookingStarts() throws InterruptedException {
+        BookingDtoShort startingBooking = new BookingDtoShort(2L, 1L, 2L,
+                LocalDateTime.now().plusNanos(50_000_000L), now.plusDays(1L));
+        stubBookings(List.of(lastBooking), List.of(startingBooking));
+
+        pointers.get(List.of(1L));
+        Thread.sleep(200L);
+        pointers.get(List.of(1L));
+
+        Mockito.verify(mockBookingRepository, Mockito.times(2))
+                .findNextBookings(Mockito.anyCollection(), Mockito.any(LocalDateTime.class));
+    }
+
+    private void stubBookings(List<BookingDtoShort> lastBookings, List<BookingDtoShort> nextBookings) {
+        Mockito
+                .when(mockBookingRepository.findLastBookings(Mockito.anyCollection(),
+                        Mockito.any(LocalDateTime.class)))
+                .thenReturn(lastBookings);
+        Mockito
+                .when(mockBookingRepository.findNextBookings(Mockito.anyCollection(),
+                        Mockito.any(LocalDateTime.class)))
+                .thenReturn(nextBookings);
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StripedBookingLocksTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void sameItemIsMutuallyExclusive() throws Exception {
+        StripedBookingLocks locks = new StripedBookingLocks(16,
+                TransactionOperations.withoutTransaction(), meterRegistry);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> locks.withItemLock(1L, () -> {
+                    maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                    Thread.yield();
+                    return inside.decrementAndGet();
+                })));
+            }
+            for (Future<Integer> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, maxInside.get());
+    }
+
+    @Test
+    void differentStripesDoNotBlock() throws Exception {
+        StripedBookingLocks locks = new StripedBookingLocks(16,
+                TransactionOperations.withoutTransaction(), meterRegistry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> holder = executor.submit(() -> locks.withItemLock(1L, () -> {
+                holding.countDown();
+                try {
+                    return release.await(5L, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertTrue(holding.await(5L, TimeUnit.SECONDS));
+
+            assertEquals(2L, locks.withItemLock(2L, () -> 2L));
+
+            release.countDown();
+            assertTrue(holder.get());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0.0, meterRegistry.counter("shareit.booking.lock.contended", "mode", "striped").count());
+    }
+
+    @Test
+    void contentionIsCounted() throws Exception {
+        StripedBookingLocks locks = new StripedBookingLocks(16,
+                TransactionOperations.withoutTransaction(), meterRegistry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> holder = executor.submit(() -> locks.withItemLocks(List.of(3L, 1L), () -> {
+                holding.countDown();
+                try {
+                    return release.await(5L, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertTrue(holding.await(5L, TimeUnit.SECONDS));
+            Future<Long> waiter = executor.submit(() -> locks.withItemLock(17L, () -> 17L));
+            while (meterRegistry.counter("shareit.booking.lock.contended", "mode", "striped").count() == 0.0) {
+                Thread.sleep(10L);
+            }
+            assertFalse(waiter.isDone());
+
+            release.countDown();
+            assertTrue(holder.get());
+            assertEquals(17L, waiter.get());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(3L, meterRegistry.timer("shareit.booking.lock.wait", "mode", "striped").count());
+    }
+
+    @Test
+    void constructorRejectsNoStripes() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedBookingLocks(0,
+                TransactionOperations.withoutTransaction(), meterRegistry));
+    }
+}
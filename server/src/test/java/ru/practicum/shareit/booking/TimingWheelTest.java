@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    @Test
+    void advanceFiresTimersOnTheirTick() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10L, 4, 0L);
+        Map<Long, Long> fired = new HashMap<>();
+        List<Long> expirations = List.of(5L, 10L, 35L, 40L, 100L, 1000L, 12345L);
+        for (Long expiration : expirations) {
+            assertTrue(wheel.add(expiration, expiration));
+        }
+
+        for (long now = 10L; now <= 13000L; now += 10L) {
+            long time = now;
+            wheel.advance(now, expiration -> fired.put(expiration, time));
+        }
+
+        assertEquals(expirations.size(), fired.size());
+        for (Long expiration : expirations) {
+            assertTrue(fired.get(expiration) >= expiration);
+            assertTrue(fired.get(expiration) < expiration + 10L);
+        }
+    }
+
+    @Test
+    void addRejectsExpiredTimers() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10L, 4, 105L);
+
+        assertFalse(wheel.add(95L, 95L));
+        assertFalse(wheel.add(100L, 100L));
+        assertTrue(wheel.add(101L, 101L));
+    }
+
+    @Test
+    void advanceCatchesUpAfterPause() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000L, 64, 0L);
+        Random random = new Random(42L);
+        List<Long> expirations = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            long expiration = 1L + (long) (random.nextDouble() * 30L * 24L * 60L * 60L * 1000L);
+            expirations.add(expiration);
+            wheel.add(expiration, expiration);
+        }
+        List<Long> fired = new ArrayList<>();
+
+        wheel.advance(15L * 24L * 60L * 60L * 1000L, fired::add);
+        long firstHalf = fired.size();
+        wheel.advance(31L * 24L * 60L * 60L * 1000L, fired::add);
+
+        assertEquals(expirations.stream().filter(e -> e <= 15L * 24L * 60L * 60L * 1000L).count(),
+                firstHalf);
+        assertEquals(expirations.size(), fired.size());
+        for (int i = 1; i < fired.size(); i++) {
+            assertTrue((fired.get(i - 1) + 999L) / 1000L <= (fired.get(i) + 999L) / 1000L);
+        }
+    }
+}
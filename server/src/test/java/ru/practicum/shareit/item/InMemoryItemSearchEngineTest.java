@@ -0,0 +1,119 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.user.User;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InMemoryItemSearchEngineTest {
+    private InMemoryItemSearchEngine searchEngine;
+    @Mock
+    private ItemRepository mockItemRepository;
+    private final User user = new User(1L, "User", "user@mail.com");
+    private final Item item1 = new Item(1L, "Drill", "Cordless drill", true, user, null);
+    private final Item item2 = new Item(2L, "Ladder", "Aluminium ladder", true, user, null);
+    private final Item item3 = new Item(3L, "Hammer drill", "Heavy", true, user, null);
+
+    @BeforeEach
+    void beforeEach() {
+        searchEngine = new InMemoryItemSearchEngine(mockItemRepository);
+        Mockito
+                .when(mockItemRepository.findAvailableAfter(Mockito.eq(0L),
+                        Mockito.any(Pageable.class)))
+                .thenReturn(List.of(
+                        new ItemDtoShort(1L, "Drill", "Cordless drill"),
+                        new ItemDtoShort(2L, "Ladder", "Aluminium ladder")
+                ));
+        searchEngine.reindex();
+    }
+
+    @Test
+    void searchSubstringIgnoringCase() {
+        Mockito
+                .when(mockItemRepository.findSnapshotsByIds(List.of(1L)))
+                .thenReturn(List.of(snapshot(item1)));
+
+        List<ItemSnapshot> items = searchEngine.search("rdLESS", 0, 10);
+
+        assertEquals(List.of(snapshot(item1)), items);
+    }
+
+    @Test
+    void searchShortText() {
+        Mockito
+                .when(mockItemRepository.findSnapshotsByIds(List.of(1L, 2L)))
+                .thenReturn(List.of(snapshot(item2), snapshot(item1)));
+
+        List<ItemSnapshot> items = searchEngine.search("l", 0, 10);
+
+        assertEquals(List.of(snapshot(item1), snapshot(item2)), items);
+    }
+
+    @Test
+    void searchNoMatch() {
+        List<ItemSnapshot> items = searchEngine.search("saw", 0, 10);
+
+        assertEquals(Collections.emptyList(), items);
+    }
+
+    @Test
+    void searchDoesNotMatchAcrossNameAndDescription() {
+        List<ItemSnapshot> items = searchEngine.search("drillcordless", 0, 10);
+
+        assertEquals(Collections.emptyList(), items);
+    }
+
+    @Test
+    void searchPagination() {
+        searchEngine.index(item3);
+        Mockito
+                .when(mockItemRepository.findSnapshotsByIds(List.of(3L)))
+                .thenReturn(List.of(snapshot(item3)));
+
+        List<ItemSnapshot> items = searchEngine.search("drill", 1, 1);
+
+        assertEquals(List.of(snapshot(item3)), items);
+    }
+
+    @Test
+    void indexUpdatedItem() {
+        Item itemUpd = new Item(1L, "Saw", "Hand saw", true, user, null);
+        Mockito
+                .when(mockItemRepository.findSnapshotsByIds(List.of(1L)))
+                .thenReturn(List.of(snapshot(itemUpd)));
+
+        searchEngine.index(itemUpd);
+
+        assertEquals(Collections.emptyList(), searchEngine.search("drill", 0, 10));
+        assertEquals(List.of(snapshot(itemUpd)), searchEngine.search("saw", 0, 10));
+    }
+
+    @Test
+    void indexUnavailableItem() {
+        searchEngine.index(new Item(1L, "Drill", "Cordless drill", false, user, null));
+
+        assertEquals(Collections.emptyList(), searchEngine.search("drill", 0, 10));
+    }
+
+    @Test
+    void removeItem() {
+        searchEngine.remove(2L);
+
+        assertEquals(Collections.emptyList(), searchEngine.search("ladder", 0, 10));
+    }
+
+    private static ItemSnapshot snapshot(Item item) {
+        return new ItemSnapshot(item.getId(), item.getName(), item.getDescription(),
+                item.getAvailable(), item.getOwner().getId(), item.getOwner().getName(), null);
+    }
+}
@@ -7,15 +7,24 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ValidationException;
 
+import ru.practicum.shareit.booking.FreeSlotDto;
+
 import javax.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -73,6 +82,62 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].comments").value(itemDto.getComments()));
     }
 
+    @Test
+    void getOwnerItemsAfter() throws Exception {
+        when(itemService.getOwnerItemsAfter(1L, 0L, 1)).thenReturn(List.of(itemDto));
+
+        mvc.perform(get("/items?after=0&size=1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "1"))
+                .andExpect(jsonPath("$[0].id").value(itemDto.getId()))
+                .andExpect(jsonPath("$[0].name").value(itemDto.getName()));
+    }
+
+    @Test
+    void getOwnerItemsAfterLastPage() throws Exception {
+        when(itemService.getOwnerItemsAfter(1L, 0L, 10)).thenReturn(List.of(itemDto));
+
+        mvc.perform(get("/items?after=0")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].id").value(itemDto.getId()));
+    }
+
+    @Test
+    void exportOwnerItems() throws Exception {
+        when(itemService.exportOwnerItems(1L))
+                .thenReturn(out -> out.write("{\"id\":1}\n{\"id\":2}\n".getBytes()));
+
+        MvcResult result = mvc.perform(get("/items/export")
+                        .header("X-Sharer-User-Id", 1L)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(Duration.ofMinutes(30L).toMillis(),
+                result.getRequest().getAsyncContext().getTimeout());
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void exportOwnerItemsEntityNotFoundException() throws Exception {
+        when(itemService.exportOwnerItems(1L)).thenThrow(EntityNotFoundException.class);
+
+        mvc.perform(get("/items/export")
+                        .header("X-Sharer-User-Id", 1L)
+                )
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void searchItems() throws Exception {
         when(itemService.searchItems("test", 1, 1)).thenReturn(List.of(itemDto));
@@ -131,6 +196,21 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.comments").value(itemDto.getComments()));
     }
 
+    @Test
+    void getItemAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemService.getItemAvailability(1L, 1L, from, from.plusDays(1L)))
+                .thenReturn(List.of(new FreeSlotDto(from.plusHours(2L), from.plusDays(1L))));
+
+        mvc.perform(get("/items/1/availability?from=2030-01-01T00:00:00&to=2030-01-02T00:00:00")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].start").value("2030-01-01T02:00:00"))
+                .andExpect(jsonPath("$[0].end").value("2030-01-02T00:00:00"));
+    }
+
     @Test
     void getItemByIdEntityNotFoundException() throws Exception {
         when(itemService.getItemById(1L, 1L)).thenThrow(EntityNotFoundException.class);
@@ -5,9 +5,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.json.JsonTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.json.JsonContent;
-import ru.practicum.shareit.booking.Booking;
-import ru.practicum.shareit.booking.BookingStatus;
-import ru.practicum.shareit.user.User;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
@@ -90,12 +87,10 @@ public class ItemDtoJsonTest {
 
     @Test
     void testItemDtoWithBookings() throws IOException {
-        User user = new User(1L, "User", "user@mail.com");
-        Item item = new Item(1L, "Item 1", "Test", true, user, null);
-        Booking lastBooking = new Booking(1L, LocalDateTime.MIN, LocalDateTime.MIN,
-                item, user, BookingStatus.APPROVED);
-        Booking nextBooking = new Booking(2L, LocalDateTime.MAX, LocalDateTime.MAX,
-                item, user, BookingStatus.APPROVED);
+        ItemDto.BookingDto lastBooking = new ItemDto.BookingDto(1L, 1L,
+                LocalDateTime.MIN, LocalDateTime.MIN);
+        ItemDto.BookingDto nextBooking = new ItemDto.BookingDto(2L, 1L,
+                LocalDateTime.MAX, LocalDateTime.MAX);
         ItemDto itemDto = new ItemDto(1L, "Item 1", "Test", true,
                 new ItemDto.UserDto(1L, "User"), 1L, null, null, null);
         itemDto.setLastBooking(lastBooking);
@@ -6,8 +6,10 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -26,7 +28,8 @@ public class ItemRepositoryTest {
     private final User userAdd2 = new User(null, "User 2", "user2@mail.com");
     private final Item itemAdd1 = new Item(null, "Item 1", "Test", true, user1, null);
     private final Item itemAdd2 = new Item(null, "Item 2", "Test", true, user2, null);
-    private final Item itemExpected = new Item(1L, "Item 1", "Test", true, user1, null);
+    private final ItemSnapshot itemExpected = new ItemSnapshot(1L, "Item 1", "Test", true,
+            1L, "User 1", null);
 
     @Test
     void findByOwnerId() {
@@ -35,19 +38,35 @@ public class ItemRepositoryTest {
         manager.persist(itemAdd1);
         manager.persist(itemAdd2);
 
-        List<Item> items = repository.findByOwnerId(1L, PageRequest.of(0, 10));
+        List<ItemSnapshot> items = repository.findByOwnerId(1L, PageRequest.of(0, 10));
 
         assertNotNull(items);
         assertEquals(1, items.size());
         assertEquals(itemExpected, items.get(0));
     }
 
+    @Test
+    void findByOwnerIdAfter() {
+        Item itemAdd3 = new Item(null, "Item 3", "Test", true, user1, null);
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        manager.persist(itemAdd2);
+        manager.persist(itemAdd3);
+
+        List<ItemSnapshot> items = repository.findByOwnerIdAfter(1L, 1L, PageRequest.of(0, 10));
+
+        assertNotNull(items);
+        assertEquals(1, items.size());
+        assertEquals(3L, items.get(0).getId());
+    }
+
     @Test
     void searchItemsUpperAndLowerCase() {
         manager.persist(userAdd1);
         manager.persist(itemAdd1);
 
-        List<Item> items = repository.searchItems("ItEm 1", PageRequest.of(0, 10));
+        List<ItemSnapshot> items = repository.searchItems("ItEm 1", PageRequest.of(0, 10));
 
         assertNotNull(items);
         assertEquals(1, items.size());
@@ -61,9 +80,82 @@ public class ItemRepositoryTest {
         manager.persist(itemAdd1);
         manager.persist(itemAdd2);
 
-        List<Item> items = repository.searchItems("ItEm", PageRequest.of(0, 10));
+        List<ItemSnapshot> items = repository.searchItems("ItEm", PageRequest.of(0, 10));
 
         assertNotNull(items);
         assertEquals(2, items.size());
     }
+
+    @Test
+    void searchItemsByTrigrams() {
+        Item itemAddUnavailable = new Item(null, "Item 3", "Test", false, user1, null);
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        manager.persist(itemAdd2);
+        manager.persist(itemAddUnavailable);
+
+        List<ItemSnapshot> items = repository.searchItemsByTrigrams("%item%", PageRequest.of(0, 10));
+
+        assertNotNull(items);
+        assertEquals(2, items.size());
+        assertEquals(itemExpected, items.get(0));
+    }
+
+    @Test
+    void searchItemsByTrigramsEscapedPattern() {
+        manager.persist(userAdd1);
+        manager.persist(itemAdd1);
+
+        List<ItemSnapshot> items = repository.searchItemsByTrigrams("%\\_%", PageRequest.of(0, 10));
+
+        assertNotNull(items);
+        assertEquals(0, items.size());
+    }
+
+    @Test
+    void findAvailableAfter() {
+        Item itemAddUnavailable = new Item(null, "Item 3", "Test", false, user1, null);
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        manager.persist(itemAdd2);
+        manager.persist(itemAddUnavailable);
+
+        List<ItemDtoShort> items = repository.findAvailableAfter(1L, PageRequest.of(0, 10));
+
+        assertNotNull(items);
+        assertEquals(1, items.size());
+        assertEquals(new ItemDtoShort(2L, "Item 2", "Test"), items.get(0));
+    }
+
+    @Test
+    void findSnapshotsByIds() {
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(itemAdd1);
+        manager.persist(itemAdd2);
+
+        List<ItemSnapshot> items = repository.findSnapshotsByIds(List.of(1L));
+
+        assertNotNull(items);
+        assertEquals(List.of(itemExpected), items);
+    }
+
+    @Test
+    void findByRequestId() {
+        ItemRequest request = new ItemRequest(null, "Request", user2, LocalDateTime.now());
+        Item itemAddRequested = new Item(null, "Item 3", "Test", true, user1, request);
+        manager.persist(userAdd1);
+        manager.persist(userAdd2);
+        manager.persist(request);
+        manager.persist(itemAdd1);
+        manager.persist(itemAddRequested);
+
+        List<ItemSnapshot> items = repository.findByRequestId(request.getId());
+
+        assertNotNull(items);
+        assertEquals(List.of(new ItemSnapshot(2L, "Item 3", "Test", true, 1L, "User 1",
+                request.getId())), items);
+    }
 }
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemSearchCacheTest {
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-01-01T00:00:00Z"));
+    private final ItemSearchCache cache = new ItemSearchCache(2, DataSize.ofMegabytes(1),
+            Duration.ofMinutes(10L), clock);
+    private final ItemDto drill = new ItemDto(1L, "Drill", "Cordless drill", true,
+            new ItemDto.UserDto(1L, "User"), null, null, null, null);
+    private final ItemDto ladder = new ItemDto(2L, "Ladder", "Aluminium ladder", true,
+            new ItemDto.UserDto(1L, "User"), null, null, null, null);
+
+    @Test
+    void getNormalizesTextAndPage() {
+        cache.put("Drill", 0, 10, List.of(drill), cache.version());
+
+        assertEquals(List.of(drill), cache.get("DRILL", 5, 10));
+        assertNull(cache.get("drill", 10, 10));
+        assertNull(cache.get("drill", 0, 5));
+    }
+
+    @Test
+    void putEvictsLeastRecentlyUsed() {
+        cache.put("drill", 0, 10, List.of(drill), cache.version());
+        cache.put("ladder", 0, 10, List.of(ladder), cache.version());
+        cache.get("drill", 0, 10);
+
+        cache.put("saw", 0, 10, List.of(), cache.version());
+
+        assertNotNull(cache.get("drill", 0, 10));
+        assertNull(cache.get("ladder", 0, 10));
+        assertNotNull(cache.get("saw", 0, 10));
+    }
+
+    @Test
+    void putRespectsMemoryCap() {
+        ItemSearchCache smallCache = new ItemSearchCache(100, DataSize.ofBytes(300),
+                Duration.ofMinutes(10L), clock);
+
+        smallCache.put("drill", 0, 10, List.of(drill), smallCache.version());
+        smallCache.put("ladder", 0, 10, List.of(ladder), smallCache.version());
+
+        assertNull(smallCache.get("drill", 0, 10));
+        assertNotNull(smallCache.get("ladder", 0, 10));
+    }
+
+    @Test
+    void putIgnoresResultComputedBeforeWrite() {
+        long version = cache.version();
+        cache.evictMatching("Drill", "Hammer drill");
+
+        cache.put("drill", 0, 10, List.of(drill), version);
+
+        assertNull(cache.get("drill", 0, 10));
+    }
+
+    @Test
+    void evictMatchingKeepsUnrelatedQueries() {
+        cache.put("drill", 0, 10, List.of(drill), cache.version());
+        cache.put("ladder", 0, 10, List.of(ladder), cache.version());
+
+        cache.evictMatching("Hammer DRILL", "Heavy");
+
+        assertNull(cache.get("drill", 0, 10));
+        assertNotNull(cache.get("ladder", 0, 10));
+    }
+
+    @Test
+    void getExpiresEntriesAfterWriteEvenWhenRead() {
+        cache.put("drill", 0, 10, List.of(drill), cache.version());
+
+        clock.advance(Duration.ofMinutes(6L));
+        assertNotNull(cache.get("drill", 0, 10));
+        clock.advance(Duration.ofMinutes(4L));
+
+        assertNull(cache.get("drill", 0, 10));
+    }
+
+    @Test
+    void putAfterExpiryReplacesEntry() {
+        cache.put("drill", 0, 10, List.of(), cache.version());
+        clock.advance(Duration.ofMinutes(10L));
+        assertNull(cache.get("drill", 0, 10));
+
+        cache.put("drill", 0, 10, List.of(drill), cache.version());
+
+        assertEquals(List.of(drill), cache.get("drill", 0, 10));
+    }
+
+    @Test
+    void clear() {
+        cache.put("drill", 0, 10, List.of(drill), cache.version());
+
+        cache.clear();
+
+        assertNull(cache.get("drill", 0, 10));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
@@ -11,21 +15,28 @@ import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityNotFoundException;
 import javax.persistence.NoResultException;
 import javax.persistence.TypedQuery;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @Transactional
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 public class ItemServiceIntegrationTest {
     private final EntityManager manager;
     private final ItemService itemService;
+    private final CacheManager cacheManager;
     private final User user = new User(1L, "User", "user@mail.com");
     private final Item item = new Item(1L, "Item", "Test", true, user, null);
     private final User userAdd = new User(null, "User", "user@mail.com");
@@ -83,6 +94,39 @@ public class ItemServiceIntegrationTest {
         assertEquals(itemExpected.getId(), item.getId());
     }
 
+    @Test
+    void getItemByIdCachesItemUntilUpdate() {
+        ItemDto itemDtoUpd = new ItemDto(null, "UPD", null, null,
+                null, null, null, null, null);
+        manager.persist(userAdd);
+        manager.persist(itemAdd);
+        Cache cache = cacheManager.getCache(ItemRepository.ITEMS_CACHE);
+
+        itemService.getItemById(1L, 1L);
+
+        assertNotNull(cache);
+        assertNotNull(cache.get(1L));
+
+        itemService.updateItem(1L, 1L, itemDtoUpd);
+
+        assertNull(cache.get(1L));
+        assertEquals("UPD", itemService.getItemById(1L, 1L).getName());
+    }
+
+    @Test
+    void deleteItemByIdEvictsCachedItem() {
+        manager.persist(userAdd);
+        manager.persist(itemAdd);
+        Cache cache = cacheManager.getCache(ItemRepository.ITEMS_CACHE);
+        itemService.getItemById(1L, 1L);
+
+        itemService.deleteItemById(1L, 1L);
+
+        assertNotNull(cache);
+        assertNull(cache.get(1L));
+        assertThrows(EntityNotFoundException.class, () -> itemService.getItemById(1L, 1L));
+    }
+
     @Test
     void addItem() {
         ItemDto itemDtoAdd = new ItemDto(null, "Item 1", "Test", true,
@@ -155,4 +199,160 @@ public class ItemServiceIntegrationTest {
         assertEquals(commentDtoAdd.getText(), comment.getText());
         assertEquals(commentDtoAdd.getAuthorName(), comment.getAuthor().getName());
     }
+
+    @Test
+    void addCommentRunsOnlyCheckLookupAndInsert() {
+        CommentDto commentDtoAdd = new CommentDto(null, "Comment", "User", null);
+        manager.persist(userAdd);
+        manager.persist(itemAdd);
+        manager.persist(new Booking(null, LocalDateTime.now().minusDays(2L),
+                LocalDateTime.now().minusDays(1L), item, user, BookingStatus.APPROVED));
+        manager.flush();
+        manager.clear();
+
+        long statements = countStatements(() -> itemService.addComment(1L, 1L, commentDtoAdd));
+
+        assertEquals(3, statements);
+    }
+
+    @Test
+    void addLastAndNextBookingsQueryCountDoesNotDependOnPageSize() {
+        LocalDateTime now = LocalDateTime.now();
+        User bookerAdd = new User(null, "Booker", "booker@mail.com");
+        manager.persist(userAdd);
+        manager.persist(bookerAdd);
+        for (int i = 1; i <= 20; i++) {
+            Item itemAddPage = new Item(null, "Item " + i, "Test", true, userAdd, null);
+            manager.persist(itemAddPage);
+            manager.persist(new Booking(null, now.minusDays(2L), now.minusDays(1L),
+                    itemAddPage, bookerAdd, BookingStatus.APPROVED));
+            manager.persist(new Booking(null, now.plusDays(1L), now.plusDays(2L),
+                    itemAddPage, bookerAdd, BookingStatus.APPROVED));
+        }
+        manager.flush();
+        manager.clear();
+
+        List<ItemDto> smallPage = createItemDtos(2);
+        List<ItemDto> largePage = createItemDtos(20);
+        long smallPageStatements = countStatements(
+                () -> itemService.addLastAndNextBookings(smallPage));
+        long largePageStatements = countStatements(
+                () -> itemService.addLastAndNextBookings(largePage));
+
+        long cachedPageStatements = countStatements(
+                () -> itemService.addLastAndNextBookings(largePage));
+
+        assertEquals(3, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+        assertEquals(0, cachedPageStatements);
+        for (ItemDto itemDto : largePage) {
+            assertNotNull(itemDto.getLastBooking());
+            assertNotNull(itemDto.getNextBooking());
+            assertEquals(2L, itemDto.getLastBooking().getBookerId());
+        }
+    }
+
+    @Test
+    void getOwnerItemsQueryCountDoesNotDependOnPageSize() {
+        LocalDateTime now = LocalDateTime.now();
+        User bookerAdd = new User(null, "Booker", "booker@mail.com");
+        manager.persist(userAdd);
+        manager.persist(bookerAdd);
+        for (int i = 1; i <= 20; i++) {
+            Item itemAddPage = new Item(null, "Item " + i, "Test", true, userAdd, null);
+            manager.persist(itemAddPage);
+            manager.persist(new Booking(null, now.minusDays(2L), now.minusDays(1L),
+                    itemAddPage, bookerAdd, BookingStatus.APPROVED));
+            manager.persist(new Comment(null, "Comment " + i, itemAddPage, bookerAdd, now));
+            manager.persist(new Comment(null, "Comment " + i, itemAddPage, userAdd, now));
+        }
+        manager.flush();
+        manager.clear();
+
+        long smallPageStatements = countStatements(() -> itemService.getOwnerItems(1L, 0, 2));
+        manager.clear();
+        long largePageStatements = countStatements(() -> itemService.getOwnerItems(1L, 0, 20));
+        List<ItemDto> items = itemService.getOwnerItems(1L, 0, 20);
+
+        assertEquals(smallPageStatements, largePageStatements);
+        assertEquals(20, items.size());
+        for (ItemDto itemDto : items) {
+            assertEquals(2, itemDto.getComments().size());
+            assertEquals("Booker", itemDto.getComments().get(0).getAuthorName());
+            assertEquals("User", itemDto.getComments().get(1).getAuthorName());
+        }
+    }
+
+    @Test
+    void searchItemsRunsSingleStatement() {
+        manager.persist(userAdd);
+        for (int i = 1; i <= 10; i++) {
+            User ownerAdd = new User(null, "Owner " + i, "owner" + i + "@mail.com");
+            manager.persist(ownerAdd);
+            manager.persist(new Item(null, "Drill " + i, "Test", true, ownerAdd, null));
+        }
+        manager.flush();
+        manager.clear();
+
+        long statements = countStatements(() -> itemService.searchItems("drill", 0, 20));
+        List<ItemDto> items = itemService.searchItems("drill", 0, 20);
+
+        assertEquals(1, statements);
+        assertEquals(10, items.size());
+        assertEquals("Owner 1", items.get(0).getOwner().getName());
+    }
+
+    @Test
+    void exportOwnerItems() throws IOException {
+        User ownerAdd = new User(null, "Owner", "owner@mail.com");
+        manager.persist(userAdd);
+        manager.persist(ownerAdd);
+        for (int i = 1; i <= 1200; i++) {
+            User itemOwner = i % 2 == 0 ? userAdd : ownerAdd;
+            manager.persist(new Item(null, "Item " + i, "Test", true, itemOwner, null));
+        }
+        manager.flush();
+        manager.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        itemService.exportOwnerItems(1L).writeTo(out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines()
+                .collect(Collectors.toList());
+        assertEquals(600, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"id\":2,\"name\":\"Item 2\""));
+        assertTrue(lines.get(599).startsWith("{\"id\":1200,\"name\":\"Item 1200\""));
+    }
+
+    @Test
+    void getItemByIdWithComments() {
+        User bookerAdd = new User(null, "Booker", "booker@mail.com");
+        manager.persist(userAdd);
+        manager.persist(bookerAdd);
+        manager.persist(itemAdd);
+        manager.persist(new Comment(null, "Comment", itemAdd, bookerAdd, LocalDateTime.now()));
+
+        ItemDto item = itemService.getItemById(2L, 1L);
+
+        assertNotNull(item);
+        assertEquals(1, item.getComments().size());
+        assertEquals("Comment", item.getComments().get(0).getText());
+        assertEquals("Booker", item.getComments().get(0).getAuthorName());
+    }
+
+    private List<ItemDto> createItemDtos(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new ItemDto(id, "Item " + id, "Test", true,
+                        new ItemDto.UserDto(1L, "User"), null, null, null, null))
+                .collect(Collectors.toList());
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = manager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,9 +11,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.unit.DataSize;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingAvailability;
+import ru.practicum.shareit.booking.ItemBookingPointers;
+import ru.practicum.shareit.booking.BookingDtoShort;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.FreeSlotDto;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.request.ItemRequest;
@@ -22,10 +29,15 @@ import ru.practicum.shareit.user.UserDto;
 import ru.practicum.shareit.user.UserService;
 
 import javax.persistence.EntityNotFoundException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -49,6 +61,8 @@ public class ItemServiceTest {
     private final CommentDto commentDtoSave = new CommentDto(null, "Comment", "User", null);
     private final Item itemSave = new Item(null, "Item 1", "Test", true, user, null);
     private final Item itemGet = new Item(1L, "Item 1", "Test", true, user, null);
+    private final ItemSnapshot itemSnapshot = new ItemSnapshot(1L, "Item 1", "Test", true,
+            1L, "User", null);
     private final ItemDto itemDtoSave = new ItemDto(null, "Item 1", "Test", true,
             null, null, null, null, null);
     private final ItemDto itemExpected = new ItemDto(1L, "Item 1", "Test", true,
@@ -59,7 +73,12 @@ public class ItemServiceTest {
     @BeforeEach
     void beforeEach() {
         itemService = new ItemServiceImpl(mockItemRepository, mockUserService,
-                mockBookingRepository, mockCommentRepository, mockItemRequestRepository);
+                mockBookingRepository, mockCommentRepository, mockItemRequestRepository,
+                new DatabaseItemSearchEngine(mockItemRepository),
+                new ItemSearchCache(100, DataSize.ofMegabytes(1), Duration.ofMinutes(10L)),
+                new ItemExporter(mockItemRepository, new ObjectMapper()),
+                new BookingAvailability(mockBookingRepository, 100, Duration.ofHours(1)),
+                new ItemBookingPointers(mockBookingRepository, 100, Duration.ofHours(1)));
     }
 
     @Test
@@ -67,7 +86,7 @@ public class ItemServiceTest {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
                 .when(mockItemRepository.findByOwnerId(1L, PageRequest.of(0, 10)))
-                .thenReturn(List.of(itemGet));
+                .thenReturn(List.of(itemSnapshot));
 
         List<ItemDto> items = itemService.getOwnerItems(1L, 0, 10);
 
@@ -89,6 +108,45 @@ public class ItemServiceTest {
         assertEquals(0, items.size());
     }
 
+    @Test
+    void getOwnerItemsAfter() {
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
+        Mockito
+                .when(mockItemRepository.findByOwnerIdAfter(1L, 0L, PageRequest.of(0, 10)))
+                .thenReturn(List.of(itemSnapshot));
+
+        List<ItemDto> items = itemService.getOwnerItemsAfter(1L, 0L, 10);
+
+        assertNotNull(items);
+        assertEquals(1, items.size());
+        assertEquals(itemExpectedComments, items.get(0));
+    }
+
+    @Test
+    void exportOwnerItems() throws IOException {
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
+        Mockito
+                .when(mockItemRepository.streamByOwnerId(1L))
+                .thenReturn(Stream.of(itemSnapshot, itemSnapshot));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        itemService.exportOwnerItems(1L).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"name\":\"Item 1\""));
+    }
+
+    @Test
+    void exportOwnerItemsIncorrectUserId() {
+        Mockito
+                .when(mockUserService.getUserById(Mockito.anyLong()))
+                .thenThrow(EntityNotFoundException.class);
+
+        assertThrows(EntityNotFoundException.class, () -> itemService.exportOwnerItems(1L));
+        Mockito.verify(mockItemRepository, Mockito.never()).streamByOwnerId(Mockito.anyLong());
+    }
+
     @Test
     void searchItems() {
         ItemDto itemExpectedSearch = new ItemDto(1L, "Item 1", "Test", true,
@@ -96,7 +154,7 @@ public class ItemServiceTest {
 
         Mockito
                 .when(mockItemRepository.searchItems("Item 1", PageRequest.of(0, 10)))
-                .thenReturn(List.of(itemGet));
+                .thenReturn(List.of(itemSnapshot));
 
         List<ItemDto> items = itemService.searchItems("Item 1", 0, 10);
 
@@ -105,6 +163,20 @@ public class ItemServiceTest {
         assertEquals(itemExpectedSearch, items.get(0));
     }
 
+    @Test
+    void searchItemsCachesResults() {
+        Mockito
+                .when(mockItemRepository.searchItems("Item 1", PageRequest.of(0, 10)))
+                .thenReturn(List.of(itemSnapshot));
+
+        itemService.searchItems("Item 1", 0, 10);
+        List<ItemDto> items = itemService.searchItems("ITEM 1", 0, 10);
+
+        assertEquals(1, items.size());
+        Mockito.verify(mockItemRepository, Mockito.times(1))
+                .searchItems(Mockito.anyString(), Mockito.any(Pageable.class));
+    }
+
     @Test
     void searchItemsEmptyText() {
         List<ItemDto> items = itemService.searchItems("  ", 0, 10);
@@ -128,7 +200,9 @@ public class ItemServiceTest {
     @Test
     void getItemById() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
-        Mockito.when(mockItemRepository.findById(1L)).thenReturn(Optional.of(itemGet));
+        Mockito
+                .when(mockItemRepository.findSnapshotById(1L))
+                .thenReturn(Optional.of(itemSnapshot));
 
         ItemDto item = itemService.getItemById(1L, 1L);
 
@@ -139,11 +213,74 @@ public class ItemServiceTest {
     @Test
     void getItemByIdNoSuchItem() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
-        Mockito.when(mockItemRepository.findById(1L)).thenReturn(Optional.empty());
+        Mockito.when(mockItemRepository.findSnapshotById(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> itemService.getItemById(1L, 1L));
     }
 
+    @Test
+    void getItemAvailability() {
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        Mockito.when(mockItemRepository.findSnapshotById(1L)).thenReturn(Optional.of(itemSnapshot));
+        Mockito
+                .when(mockBookingRepository.findBlockingIntervalsBetween(Mockito.eq(1L),
+                        Mockito.anyCollection(), Mockito.eq(from), Mockito.eq(from.plusDays(10L))))
+                .thenReturn(List.of(
+                        new BookingDtoShort(1L, 1L, 2L, from.minusDays(1L), from.plusDays(2L)),
+                        new BookingDtoShort(2L, 1L, 2L, from.plusDays(4L), from.plusDays(6L)),
+                        new BookingDtoShort(3L, 1L, 2L, from.plusDays(5L), from.plusDays(7L))
+                ));
+
+        List<FreeSlotDto> slots = itemService.getItemAvailability(1L, 1L, from, from.plusDays(10L));
+
+        assertEquals(List.of(
+                new FreeSlotDto(from.plusDays(2L), from.plusDays(4L)),
+                new FreeSlotDto(from.plusDays(7L), from.plusDays(10L))
+        ), slots);
+    }
+
+    @Test
+    void getItemAvailabilityUnavailableItem() {
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
+        ItemSnapshot itemUnavailable = new ItemSnapshot(1L, "Item 1", "Test", false,
+                1L, "User", null);
+        Mockito
+                .when(mockItemRepository.findSnapshotById(1L))
+                .thenReturn(Optional.of(itemUnavailable));
+
+        List<FreeSlotDto> slots = itemService.getItemAvailability(1L, 1L, LocalDateTime.MIN,
+                LocalDateTime.MAX);
+
+        assertEquals(Collections.emptyList(), slots);
+    }
+
+    @Test
+    void getItemAvailabilityIncorrectItemId() {
+        Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
+        Mockito.when(mockItemRepository.findSnapshotById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> itemService.getItemAvailability(1L, 1L, LocalDateTime.MIN, LocalDateTime.MAX));
+    }
+
+    @Test
+    void getItemAvailabilityIncorrectUserId() {
+        Mockito
+                .when(mockUserService.getUserById(Mockito.anyLong()))
+                .thenThrow(EntityNotFoundException.class);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> itemService.getItemAvailability(1L, 1L, LocalDateTime.MIN, LocalDateTime.MAX));
+        Mockito.verify(mockItemRepository, Mockito.never()).findSnapshotById(Mockito.anyLong());
+    }
+
+    @Test
+    void getItemAvailabilityEmptyWindow() {
+        assertThrows(ValidationException.class,
+                () -> itemService.getItemAvailability(1L, 1L, LocalDateTime.MAX, LocalDateTime.MIN));
+    }
+
     @Test
     void addItem() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(userDto);
@@ -297,7 +434,7 @@ public class ItemServiceTest {
     void deleteItemByIdIncorrectItemId() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockItemRepository.findById(Mockito.anyLong()))
+                .when(mockItemRepository.findSnapshotById(Mockito.anyLong()))
                 .thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> itemService.deleteItemById(1L, 1L));
@@ -307,30 +444,27 @@ public class ItemServiceTest {
     void deleteItemByIdIncorrectUserId() {
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(null);
         Mockito
-                .when(mockItemRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(itemGet));
+                .when(mockItemRepository.findSnapshotById(Mockito.anyLong()))
+                .thenReturn(Optional.of(itemSnapshot));
 
         assertThrows(AccessDeniedException.class, () -> itemService.deleteItemById(2L, 1L));
     }
 
     @Test
     void addComment() {
-        Booking booking = new Booking();
         Comment commentGet = new Comment(1L, "Comment", itemGet, user, null);
         CommentDto commentExpected = new CommentDto(1L, "Comment", "User", null);
 
         Mockito
-                .when(mockBookingRepository.findCompletedBooking(
+                .when(mockBookingRepository.existsCompletedBooking(
                         Mockito.anyLong(),
                         Mockito.anyLong(),
                         Mockito.any(BookingStatus.class),
                         Mockito.any(LocalDateTime.class)
                         )
                 )
-                .thenReturn(booking);
-        Mockito
-                .when(mockItemRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(itemGet));
+                .thenReturn(true);
+        Mockito.when(mockItemRepository.getReferenceById(Mockito.anyLong())).thenReturn(itemGet);
         Mockito.when(mockUserService.getUserById(Mockito.anyLong())).thenReturn(userDto);
         Mockito
                 .when(mockCommentRepository.save(Mockito.any(Comment.class)))
@@ -345,14 +479,14 @@ public class ItemServiceTest {
     @Test
     void addCommentNoBooking() {
         Mockito
-                .when(mockBookingRepository.findCompletedBooking(
+                .when(mockBookingRepository.existsCompletedBooking(
                                 Mockito.anyLong(),
                                 Mockito.anyLong(),
                                 Mockito.any(BookingStatus.class),
                                 Mockito.any(LocalDateTime.class)
                         )
                 )
-                .thenReturn(null);
+                .thenReturn(false);
 
         assertThrows(ValidationException.class, () -> itemService.addComment(1L, 1L,
                 commentDtoSave));
@@ -0,0 +1,159 @@
+package ru.practicum.shareit.item;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.MMapDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.user.User;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LuceneItemSearchEngineTest {
+    private LuceneItemSearchEngine searchEngine;
+    @Mock
+    private ItemRepository mockItemRepository;
+    @TempDir
+    Path indexPath;
+    private final User user = new User(1L, "User", "user@mail.com");
+    private final Item item1 = new Item(1L, "Ladder", "Works well with a drill", true, user, null);
+    private final Item item2 = new Item(2L, "Drill", "Cordless", true, user, null);
+    private final Item item3 = new Item(3L, "Drill", "Corded", true, user, null);
+
+    @BeforeEach
+    void beforeEach() {
+        searchEngine = new LuceneItemSearchEngine(mockItemRepository, indexPath.toString());
+        Mockito
+                .when(mockItemRepository.findAvailableAfter(Mockito.eq(0L),
+                        Mockito.any(Pageable.class)))
+                .thenReturn(List.of(
+                        new ItemDtoShort(1L, "Ladder", "Works well with a drill"),
+                        new ItemDtoShort(2L, "Drill", "Cordless")
+                ));
+        searchEngine.initialize();
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        searchEngine.close();
+    }
+
+    @Test
+    void searchRanksNameMatchFirst() {
+        Mockito
+                .when(mockItemRepository.findSnapshotsByIds(List.of(2L, 1L)))
+                .thenReturn(List.of(snapshot(item1), snapshot(item2)));
+
+        List<ItemSnapshot> items = searchEngine.search("DRILL", 0, 10);
+
+        assertEquals(List.of(snapshot(item2), snapshot(item1)), items);
+    }
+
+    @Test
+    void searchPrefix() {
+        Mockito
+                .when(mockItemRepository.findSnapshotsByIds(List.of(2L)))
+                .thenReturn(List.of(snapshot(item2)));
+
+        List<ItemSnapshot> items = searchEngine.search("cord", 0, 10);
+
+        assertEquals(List.of(snapshot(item2)), items);
+    }
+
+    @Test
+    void searchNoMatch() {
+        assertEquals(Collections.emptyList(), searchEngine.search("saw", 0, 10));
+        assertEquals(Collections.emptyList(), searchEngine.search("!!", 0, 10));
+    }
+
+    @Test
+    void searchPagination() {
+        searchEngine.index(item3);
+        Mockito
+                .when(mockItemRepository.findSnapshotsByIds(List.of(3L)))
+                .thenReturn(List.of(snapshot(item3)));
+
+        List<ItemSnapshot> items = searchEngine.search("drill", 1, 1);
+
+        assertEquals(List.of(snapshot(item3)), items);
+    }
+
+    @Test
+    void indexUpdatedItemIsVisibleImmediately() {
+        Item itemUpd = new Item(2L, "Saw", "Hand saw", true, user, null);
+        Mockito
+                .when(mockItemRepository.findSnapshotsByIds(List.of(2L)))
+                .thenReturn(List.of(snapshot(itemUpd)));
+
+        searchEngine.index(itemUpd);
+
+        assertEquals(List.of(snapshot(itemUpd)), searchEngine.search("saw", 0, 10));
+    }
+
+    @Test
+    void indexUnavailableItem() {
+        searchEngine.index(new Item(1L, "Ladder", "Works well with a drill", false, user, null));
+
+        assertEquals(Collections.emptyList(), searchEngine.search("ladder", 0, 10));
+    }
+
+    @Test
+    void removeItem() {
+        searchEngine.remove(1L);
+
+        assertEquals(Collections.emptyList(), searchEngine.search("ladder", 0, 10));
+    }
+
+    @Test
+    void initializeKeepsExistingIndex() throws IOException {
+        searchEngine.close();
+        searchEngine = new LuceneItemSearchEngine(mockItemRepository, indexPath.toString());
+        Mockito
+                .when(mockItemRepository.findSnapshotsByIds(List.of(1L)))
+                .thenReturn(List.of(snapshot(item1)));
+
+        searchEngine.initialize();
+
+        assertEquals(List.of(snapshot(item1)), searchEngine.search("ladder", 0, 10));
+        Mockito.verify(mockItemRepository, Mockito.times(1))
+                .findAvailableAfter(Mockito.anyLong(), Mockito.any(Pageable.class));
+    }
+
+    @Test
+    void initializeReindexesIndexNotClosedCleanly() throws IOException {
+        searchEngine.index(item3);
+        searchEngine.close();
+        try (IndexWriter writer = new IndexWriter(new MMapDirectory(indexPath),
+                new IndexWriterConfig(new StandardAnalyzer()))) {
+            writer.setLiveCommitData(Map.of("clean", "false").entrySet());
+            writer.commit();
+        }
+        searchEngine = new LuceneItemSearchEngine(mockItemRepository, indexPath.toString());
+
+        searchEngine.initialize();
+
+        assertEquals(Collections.emptyList(), searchEngine.search("corded", 0, 10));
+        Mockito.verify(mockItemRepository, Mockito.times(2))
+                .findAvailableAfter(Mockito.anyLong(), Mockito.any(Pageable.class));
+    }
+
+    private static ItemSnapshot snapshot(Item item) {
+        return new ItemSnapshot(item.getId(), item.getName(), item.getDescription(),
+                item.getAvailable(), item.getOwner().getId(), item.getOwner().getName(), null);
+    }
+}
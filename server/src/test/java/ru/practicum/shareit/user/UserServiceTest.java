@@ -9,8 +9,13 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.shareit.item.ItemSearchCache;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingPointers;
 
 import javax.persistence.EntityNotFoundException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +29,8 @@ public class UserServiceTest {
     private UserService userService;
     @Mock
     private UserRepository mockUserRepository;
+    @Mock
+    private BookingRepository mockBookingRepository;
     private final User userSave = new User(null, "User", "user@mail.com");
     private final User userGet = new User(1L, "User", "user@mail.com");
     private final UserDto userDtoSave = new UserDto(null, "User", "user@mail.com");
@@ -31,7 +38,9 @@ public class UserServiceTest {
 
     @BeforeEach
     void beforeEach() {
-        userService = new UserServiceImpl(mockUserRepository);
+        userService = new UserServiceImpl(mockUserRepository,
+                new ItemSearchCache(100, DataSize.ofMegabytes(1), Duration.ofMinutes(10L)),
+                new ItemBookingPointers(mockBookingRepository, 100, Duration.ofHours(1)));
     }
 
     @Test